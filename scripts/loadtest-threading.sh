@@ -0,0 +1,50 @@
+#!/bin/sh
+# Compares platform-thread and virtual-thread request handling under high concurrency.
+#
+# Requires the docker-compose infrastructure (Postgres + Kafka) to be running, a built jar
+# (./gradlew bootJar) and the `hey` load generator on the PATH.
+#
+#   CONCURRENCY=500 REQUESTS=50000 ./scripts/loadtest-threading.sh
+set -e
+
+CONCURRENCY=${CONCURRENCY:-500}
+REQUESTS=${REQUESTS:-50000}
+PORT=${PORT:-8080}
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+OUT=build/loadtest
+mkdir -p "$OUT"
+
+run_mode() {
+  mode=$1
+  virtual=$2
+  echo "== $mode threads (spring.threads.virtual.enabled=$virtual)"
+  # Load shedding and per-client limits are off, so the run measures request handling rather than 429s
+  SPRING_THREADS_VIRTUAL_ENABLED=$virtual SPRING_SQL_INIT_MODE=always \
+    REGISTRATION_RATE_LIMIT_ENABLED=false REGISTRATION_ADMISSION_ENABLED=false \
+    java -jar "$JAR" --server.port="$PORT" > "$OUT/app-$mode.log" 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  # Warm up, then measure a read-heavy and a write-heavy run. hey sends a fixed body, so after the first
+  # POST the rest are 409s; they still take the full insert-and-rollback path through the pool.
+  hey -n 2000 -c 50 "http://localhost:$PORT/registrations?limit=20" > /dev/null
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "http://localhost:$PORT/registrations?limit=20" > "$OUT/$mode-get.txt"
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T application/json \
+    -d '{"firstName":"Load","lastName":"Test","email":"load-'"$mode"'@example.com","age":30,"countryCode":"BR"}' \
+    "http://localhost:$PORT/registrations" > "$OUT/$mode-post.txt"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform false
+run_mode virtual true
+
+for kind in get post; do
+  echo "== $kind"
+  for mode in platform virtual; do
+    printf '%-9s %s | %s\n' "$mode" \
+      "$(grep 'Requests/sec' "$OUT/$mode-$kind.txt" | tr -s ' ')" \
+      "$(grep '99% in' "$OUT/$mode-$kind.txt" | tr -s ' ')"
+  done
+done | tee "$OUT/threading-comparison.txt"
@@ -0,0 +1,73 @@
+#!/bin/sh
+# Cold start of the service: time from launching `java` to the first successful GET /registrations and
+# the resident memory (RSS) right after it, for the fat jar, the extracted jar with an AppCDS archive, and
+# CDS plus Spring AOT. Linux only (reads /proc).
+#
+# Requires the docker-compose infrastructure (Postgres + Kafka) to be running and a jar built with
+# ./gradlew bootJar -PfastStartup (without it the AOT run is skipped).
+#
+#   RUNS=5 ./scripts/startup-benchmark.sh
+set -e
+
+RUNS=${RUNS:-3}
+PORT=${PORT:-8080}
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+OUT=build/startup
+APP=$OUT/application
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-prod}
+mkdir -p "$OUT"
+
+# CDS can only archive classes loaded from plain jars on the class path, not from the nested fat jar
+rm -rf "$APP"
+java -Djarmode=tools -jar "$JAR" extract --destination "$APP" > /dev/null
+APP_JAR="$APP/$(basename "$JAR")"
+
+# Training run: refreshes the context without starting the server or the Kafka listener, then exits and
+# writes the classes it loaded to the archive. It needs neither the database nor the brokers.
+train() {
+  archive=$1
+  shift
+  java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+    -Dspring.kafka.admin.auto-create=false "$@" -jar "$APP_JAR" > "$archive.log" 2>&1
+}
+
+measure() {
+  mode=$1
+  jar=$2
+  shift 2
+  total_ms=0
+  total_rss=0
+  for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%3N)
+    java "$@" -jar "$jar" --server.port="$PORT" > "$OUT/app-$mode-$run.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/registrations?limit=1" > /dev/null; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$mode: the application exited, see $OUT/app-$mode-$run.log" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+    ms=$(( $(date +%s%3N) - start ))
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    total_ms=$((total_ms + ms))
+    total_rss=$((total_rss + rss))
+  done
+  printf '%-8s time to first request %6d ms | RSS %5d MB\n' "$mode" $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+train "$OUT/cds.jsa"
+if jar tf "$JAR" | grep -q '__BeanFactoryRegistrations.class'; then
+  train "$OUT/aot-cds.jsa" -Dspring.aot.enabled=true
+fi
+
+{
+  echo "== average of $RUNS runs, profile $SPRING_PROFILES_ACTIVE"
+  measure jar "$JAR"
+  measure cds "$APP_JAR" -XX:SharedArchiveFile="$OUT/cds.jsa"
+  if [ -f "$OUT/aot-cds.jsa" ]; then
+    measure aot+cds "$APP_JAR" -XX:SharedArchiveFile="$OUT/aot-cds.jsa" -Dspring.aot.enabled=true
+  fi
+} | tee "$OUT/startup-comparison.txt"
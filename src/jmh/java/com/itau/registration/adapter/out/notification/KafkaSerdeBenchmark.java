@@ -0,0 +1,81 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The binary serde pair configured for the notifications topic against the Spring JSON pair it
+ * replaced (type headers resolved against the trusted packages), plus the JSON fallback path of the
+ * binary deserializer used while both formats are on the topic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KafkaSerdeBenchmark {
+
+    private static final String TOPIC = "notifications";
+
+    private JsonSerializer<RegistrationCreatedEvent> jsonSerializer;
+    private JsonDeserializer<Object> jsonDeserializer;
+    private RegistrationCreatedEventSerializer binarySerializer;
+    private RegistrationCreatedEventDeserializer binaryDeserializer;
+    private RegistrationCreatedEvent event;
+    private RecordHeaders jsonHeaders;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.itau.registration.adapter.out.*"), false);
+        binarySerializer = new RegistrationCreatedEventSerializer();
+        binarySerializer.configure(Map.of(), false);
+        binaryDeserializer = new RegistrationCreatedEventDeserializer();
+
+        event = new RegistrationCreatedEvent(42L, "rosangela@email.com", LocalDateTime.now());
+        jsonHeaders = new RecordHeaders();
+        jsonPayload = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+        binaryPayload = binarySerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+        binarySerializer.close();
+        binaryDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonPayload);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, new RecordHeaders(), binaryPayload);
+    }
+
+    @Benchmark
+    public Object deserializeJsonWithBinaryDeserializer() {
+        return binaryDeserializer.deserialize(TOPIC, jsonHeaders, jsonPayload);
+    }
+}
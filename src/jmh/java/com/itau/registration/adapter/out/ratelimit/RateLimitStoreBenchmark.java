@@ -0,0 +1,55 @@
+package com.itau.registration.adapter.out.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of one rate limit decision under contention: every thread on the same client (all CAS on one
+ * bucket), and each thread on its own set of clients (map lookups spread over many buckets). The rate is
+ * high enough that requests are allowed, so every call goes through the CAS. Run with
+ * {@code -PjmhIncludes=RateLimitStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class RateLimitStoreBenchmark {
+
+    private static final int CLIENTS_PER_THREAD = 1024;
+
+    private InMemoryRateLimitStore store;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Clients {
+        String[] keys;
+        int next;
+
+        @Setup
+        public void setUp(RateLimitStoreBenchmark benchmark) {
+            int thread = benchmark.threads.getAndIncrement();
+            keys = new String[CLIENTS_PER_THREAD];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = "ip:10." + thread + "." + (i >> 8) + "." + (i & 0xff);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        store = new InMemoryRateLimitStore(1e9, 1_000_000, 100_000, System::nanoTime);
+    }
+
+    @Benchmark
+    public long sameClient() {
+        return store.tryAcquire("key:partner-a");
+    }
+
+    @Benchmark
+    public long spreadClients(Clients clients) {
+        String key = clients.keys[clients.next++ & (CLIENTS_PER_THREAD - 1)];
+        return store.tryAcquire(key);
+    }
+}
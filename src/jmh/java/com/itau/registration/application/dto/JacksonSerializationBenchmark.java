@@ -0,0 +1,46 @@
+package com.itau.registration.application.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JacksonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private RegistrationResponse response;
+    private RegistrationCreatedEvent event;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same defaults as the ObjectMapper Spring Boot configures for the web layer
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        response = new RegistrationResponse(42L, "Rosangela", "Shigenari", "rosangela@email.com", 30, "BR",
+                now, now, 0L, "Registration retrieved.");
+        event = new RegistrationCreatedEvent(42L, "rosangela@email.com", now);
+        responseJson = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeRegistrationResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeRegistrationCreatedEvent() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public RegistrationResponse deserializeRegistrationResponse() throws Exception {
+        return objectMapper.readValue(responseJson, RegistrationResponse.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.itau.registration.application.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistrationRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private RegistrationRequest valid;
+    private RegistrationRequest invalidEmail;
+    private RegistrationRequest invalidCountryCode;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = new RegistrationRequest("Rosangela", "Shigenari", "rosangela@email.com", 30, "BR");
+        invalidEmail = new RegistrationRequest("Rosangela", "Shigenari", "not-an-email", 30, "BR");
+        invalidCountryCode = new RegistrationRequest("Rosangela", "Shigenari", "rosangela@email.com", 30, "bra");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistrationRequest>> validateValidRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistrationRequest>> validateInvalidEmail() {
+        return validator.validate(invalidEmail);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegistrationRequest>> validateInvalidCountryCode() {
+        return validator.validate(invalidCountryCode);
+    }
+}
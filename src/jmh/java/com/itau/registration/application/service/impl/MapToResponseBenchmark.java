@@ -0,0 +1,43 @@
+package com.itau.registration.application.service.impl;
+
+import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.domain.model.Registration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapToResponseBenchmark {
+
+    private RegistrationServiceImpl service;
+    private Registration registration;
+
+    @Setup
+    public void setUp() {
+        service = new RegistrationServiceImpl(null, null, null, null, null, null, null, null);
+        registration = Registration.builder()
+                .id(42L)
+                .firstName("Rosangela")
+                .lastName("Shigenari")
+                .email("rosangela@email.com")
+                .age(30)
+                .countryCode("BR")
+                .status("PROCESSING")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public RegistrationResponse mapWithConstantMessage() {
+        return service.mapToResponse(registration, registration.getStatus());
+    }
+
+    @Benchmark
+    public RegistrationResponse mapWithFormattedMessage() {
+        return service.mapToResponse(registration, String.format("Registration %d retrieved.", registration.getId()));
+    }
+}
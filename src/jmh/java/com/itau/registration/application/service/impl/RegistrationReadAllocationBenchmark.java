@@ -0,0 +1,92 @@
+package com.itau.registration.application.service.impl;
+
+import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.domain.model.Registration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes allocated per read, from the column values the JDBC driver hands over to the response object:
+ * entity hydration plus mapToResponse (before) against the projection constructor (after). Run with the
+ * GC profiler and compare gc.alloc.rate.norm:
+ * {@code ./gradlew jmh -PjmhIncludes=RegistrationReadAllocationBenchmark -PjmhProfilers=gc}.
+ * Hibernate's own per-entity bookkeeping (entity entry, dirty-checking snapshot) is not included, so the
+ * real difference is larger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistrationReadAllocationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private RegistrationServiceImpl service;
+    private Object[][] rows;
+
+    @Setup
+    public void setUp() {
+        service = new RegistrationServiceImpl(null, null, null, null, null, null, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        rows = new Object[PAGE_SIZE + 1][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[]{1_000L + i, "Rosangela", "Shigenari", "rosangela" + i + "@email.com", 30, "BR",
+                    "PROCESSING", now, now, 0L};
+        }
+    }
+
+    @Benchmark
+    public RegistrationResponse getByIdEntity() {
+        Registration registration = hydrate(rows[0]);
+        return service.mapToResponse(registration, String.format("Registration %d retrieved.", registration.getId()));
+    }
+
+    @Benchmark
+    public RegistrationResponse getByIdProjection() {
+        return project(rows[0], "Registration retrieved.");
+    }
+
+    @Benchmark
+    public List<RegistrationResponse> pageEntity() {
+        List<Registration> registrations = new ArrayList<>(rows.length);
+        for (Object[] row : rows) {
+            registrations.add(hydrate(row));
+        }
+        return registrations.stream()
+                .limit(PAGE_SIZE)
+                .map(reg -> service.mapToResponse(reg, reg.getStatus()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<RegistrationResponse> pageProjection() {
+        List<RegistrationResponse> responses = new ArrayList<>(rows.length);
+        for (Object[] row : rows) {
+            responses.add(project(row, (String) row[6]));
+        }
+        return responses.subList(0, PAGE_SIZE);
+    }
+
+    private static Registration hydrate(Object[] row) {
+        Registration registration = new Registration();
+        registration.setId((Long) row[0]);
+        registration.setFirstName((String) row[1]);
+        registration.setLastName((String) row[2]);
+        registration.setEmail((String) row[3]);
+        registration.setAge((Integer) row[4]);
+        registration.setCountryCode((String) row[5]);
+        registration.setStatus((String) row[6]);
+        registration.setCreatedAt((LocalDateTime) row[7]);
+        registration.setUpdatedAt((LocalDateTime) row[8]);
+        registration.setVersion((Long) row[9]);
+        return registration;
+    }
+
+    private static RegistrationResponse project(Object[] row, String message) {
+        return new RegistrationResponse((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                (Integer) row[4], (String) row[5], (LocalDateTime) row[7], (LocalDateTime) row[8], (Long) row[9], message);
+    }
+}
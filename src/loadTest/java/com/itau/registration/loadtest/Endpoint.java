@@ -0,0 +1,5 @@
+package com.itau.registration.loadtest;
+
+enum Endpoint {
+    POST, GET, PATCH, DELETE
+}
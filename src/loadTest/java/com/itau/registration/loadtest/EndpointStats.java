@@ -0,0 +1,49 @@
+package com.itau.registration.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds) and status code counts for one endpoint.
+ */
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /** Discards everything recorded so far, used to drop the warmup phase. */
+    void reset() {
+        recorder.reset();
+        statusCounts.clear();
+        errors.reset();
+    }
+
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    Map<Integer, LongAdder> statusCounts() {
+        return statusCounts;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,146 @@
+package com.itau.registration.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load: each worker sends one request at a time, picking the endpoint from the weighted mix.
+ */
+class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final NotificationLagProbe lagProbe;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final RegistrationIdPool idPool = new RegistrationIdPool();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Endpoint[] weightedEndpoints;
+
+    private volatile boolean running = true;
+
+    LoadGenerator(URI baseUri, LoadTestOptions options, NotificationLagProbe lagProbe) {
+        this.baseUri = baseUri;
+        this.options = options;
+        this.lagProbe = lagProbe;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        this.weightedEndpoints = options.mix().entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Endpoint[]::new);
+    }
+
+    Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    /** Runs the warmup and measurement phases, returning the measured wall time in nanoseconds. */
+    long run() throws InterruptedException {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.submit(this::work);
+            }
+            Thread.sleep(options.warmup().toMillis());
+            stats.values().forEach(EndpointStats::reset);
+            long start = System.nanoTime();
+            Thread.sleep(options.duration().toMillis());
+            running = false;
+            workers.shutdown();
+            workers.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+            return System.nanoTime() - start;
+        }
+    }
+
+    private void work() {
+        while (running) {
+            Endpoint endpoint = weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)];
+            try {
+                switch (endpoint) {
+                    case POST -> post();
+                    case GET -> withExistingId(endpoint, idPool.any(), id -> HttpRequest.newBuilder(uri("?id=" + id)).GET());
+                    case PATCH -> withExistingId(endpoint, idPool.any(), id -> HttpRequest.newBuilder(uri("/" + id))
+                            .header("Content-Type", "application/json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(registrationJson("updated"))));
+                    case DELETE -> withExistingId(endpoint, idPool.take(), id -> HttpRequest.newBuilder(uri("/" + id)).DELETE());
+                }
+            } catch (IOException e) {
+                stats.get(endpoint).recordError();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void post() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(""))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(registrationJson("loadtest")))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        stats.get(Endpoint.POST).record(System.nanoTime() - start, response.statusCode());
+        if (response.statusCode() != 201) {
+            return;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        long id = body.get("id").asLong();
+        if (id % options.lagSampleRate() == 0) {
+            lagProbe.track(id, start);
+        } else {
+            idPool.add(id);
+        }
+    }
+
+    private void withExistingId(Endpoint endpoint, OptionalLong id, RequestFactory factory)
+            throws IOException, InterruptedException {
+        if (id.isEmpty()) {
+            post();
+            return;
+        }
+        HttpRequest request = factory.create(id.getAsLong()).timeout(REQUEST_TIMEOUT).build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        stats.get(endpoint).record(System.nanoTime() - start, response.statusCode());
+    }
+
+    private URI uri(String suffix) {
+        return baseUri.resolve("/registrations" + suffix);
+    }
+
+    private String registrationJson(String firstName) {
+        String email = "%s-%s-%d@example.com".formatted(firstName, runId, emailSequence.incrementAndGet());
+        return """
+                {"firstName":"%s","lastName":"Test","email":"%s","age":30,"countryCode":"BR"}"""
+                .formatted(firstName, email);
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest.Builder create(long id);
+    }
+}
@@ -0,0 +1,50 @@
+package com.itau.registration.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (forwarded by {@code ./gradlew loadTest -P...}).
+ */
+record LoadTestOptions(Duration warmup,
+                       Duration duration,
+                       int concurrency,
+                       Map<Endpoint, Integer> mix,
+                       int lagSampleRate,
+                       Duration lagTimeout,
+                       long notificationDelayMillis,
+                       Path reportDir) {
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Duration.ofSeconds(Long.getLong("loadtest.warmup.seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration.seconds", 60)),
+                Integer.getInteger("loadtest.concurrency", 32),
+                parseMix(System.getProperty("loadtest.mix", "post=30,get=50,patch=15,delete=5")),
+                Integer.getInteger("loadtest.lag.sample-rate", 10),
+                Duration.ofSeconds(Long.getLong("loadtest.lag.timeout.seconds", 120)),
+                Long.getLong("loadtest.notification.delay.millis", 1000),
+                Path.of(System.getProperty("loadtest.report.dir", "build/reports/loadtest")));
+    }
+
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight: " + entry);
+            }
+            weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.getOrDefault(Endpoint.POST, 0) == 0) {
+            throw new IllegalArgumentException("The mix needs POST traffic to create registrations");
+        }
+        return weights;
+    }
+}
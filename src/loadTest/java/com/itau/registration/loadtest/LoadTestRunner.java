@@ -0,0 +1,134 @@
+package com.itau.registration.loadtest;
+
+import com.itau.registration.RegistrationApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots RegistrationApplication against an embedded Postgres and an embedded Kafka broker, drives a
+ * configurable mix of requests against /registrations and reports throughput, latency percentiles per
+ * endpoint and notification lag. Run with {@code ./gradlew loadTest}; see {@link LoadTestOptions}.
+ */
+public class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1, "notifications");
+        kafka.afterPropertiesSet();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(RegistrationApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                            "spring.datasource.username=postgres",
+                            "spring.datasource.password=postgres",
+                            "spring.sql.init.mode=always",
+                            "spring.jpa.show-sql=false",
+                            "spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                            "kafka.delay.millis=" + options.notificationDelayMillis(),
+                            // Every request comes from one address; measure the service, not its 429s
+                            "registration.rate-limit.enabled=false",
+                            "registration.admission.enabled=false",
+                            "logging.level.com.itau.registration=WARN",
+                            "logging.level.org.apache.kafka=WARN")
+                    .run();
+            try {
+                URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                run(options, baseUri, postgres);
+            } finally {
+                context.close();
+            }
+        } finally {
+            kafka.destroy();
+        }
+    }
+
+    private static void run(LoadTestOptions options, URI baseUri, EmbeddedPostgres postgres) throws Exception {
+        NotificationLagProbe lagProbe = new NotificationLagProbe(postgres.getPostgresDatabase());
+        Thread lagPoller = Thread.ofPlatform().name("notification-lag-probe").daemon().start(lagProbe);
+
+        logger.info("Running {} workers for {}s (warmup {}s), mix {}", options.concurrency(),
+                options.duration().toSeconds(), options.warmup().toSeconds(), options.mix());
+        LoadGenerator generator = new LoadGenerator(baseUri, options, lagProbe);
+        long elapsedNanos = generator.run();
+
+        boolean drained = lagProbe.awaitAll(options.lagTimeout());
+        lagProbe.stop();
+        lagPoller.join();
+
+        report(options, generator.stats(), elapsedNanos, lagProbe, drained);
+    }
+
+    private static void report(LoadTestOptions options, Map<Endpoint, EndpointStats> stats, long elapsedNanos,
+                               NotificationLagProbe lagProbe, boolean drained) throws IOException {
+        Files.createDirectories(options.reportDir());
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder summary = new StringBuilder();
+        summary.append("duration=%.1fs concurrency=%d mix=%s notificationDelay=%dms%n".formatted(
+                seconds, options.concurrency(), options.mix(), options.notificationDelayMillis()));
+        summary.append("%-8s %10s %10s %10s %10s %10s %10s  %s%n".formatted(
+                "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "status"));
+
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().snapshot();
+            if (histogram.getTotalCount() == 0 && entry.getValue().errors() == 0) {
+                continue;
+            }
+            Map<Integer, Long> statuses = new TreeMap<>();
+            entry.getValue().statusCounts().forEach((status, count) -> statuses.put(status, count.sum()));
+            summary.append("%-8s %10d %10.1f %10.2f %10.2f %10.2f %10.2f  %s errors=%d%n".formatted(
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    microsToMillis(histogram.getValueAtPercentile(50)),
+                    microsToMillis(histogram.getValueAtPercentile(99)),
+                    microsToMillis(histogram.getValueAtPercentile(99.9)),
+                    microsToMillis(histogram.getMaxValue()),
+                    statuses,
+                    entry.getValue().errors()));
+            writeHistogram(options, entry.getKey().name().toLowerCase(), histogram, 1000.0);
+        }
+
+        Histogram lag = lagProbe.lagMillis();
+        summary.append("notification lag (POST -> PROCESSED): samples=%d p50=%dms p99=%dms p999=%dms max=%dms%s%n".formatted(
+                lag.getTotalCount(),
+                lag.getValueAtPercentile(50),
+                lag.getValueAtPercentile(99),
+                lag.getValueAtPercentile(99.9),
+                lag.getMaxValue(),
+                drained ? "" : " (" + lagProbe.outstanding() + " not processed within " + options.lagTimeout().toSeconds() + "s)"));
+        writeHistogram(options, "notification-lag", lag, 1.0);
+
+        System.out.print(summary);
+        Files.writeString(options.reportDir().resolve("summary.txt"), summary);
+    }
+
+    private static void writeHistogram(LoadTestOptions options, String name, Histogram histogram, double scalingRatio) {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.reportDir().resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, scalingRatio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double microsToMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.itau.registration.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from sending a POST until the registration is PROCESSED by polling the database.
+ * Probed registrations are never patched or deleted by the load generator, so the status is only
+ * changed by the notification pipeline.
+ */
+class NotificationLagProbe implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationLagProbe.class);
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    private final DataSource dataSource;
+    private final Map<Long, Long> sentAtNanos = new ConcurrentHashMap<>();
+    private final Histogram lagMillis = new Histogram(TimeUnit.HOURS.toMillis(1), 3);
+    private volatile boolean running = true;
+
+    NotificationLagProbe(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    void track(long registrationId, long sentNanos) {
+        sentAtNanos.put(registrationId, sentNanos);
+    }
+
+    int outstanding() {
+        return sentAtNanos.size();
+    }
+
+    /** Waits for every tracked registration to be processed, returning false on timeout. */
+    boolean awaitAll(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!sentAtNanos.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        return sentAtNanos.isEmpty();
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    synchronized Histogram lagMillis() {
+        return lagMillis.copy();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                poll();
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException e) {
+                logger.warn("Failed to poll notification status", e);
+            }
+        }
+    }
+
+    private void poll() throws SQLException {
+        if (sentAtNanos.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "select id from registration where status = 'PROCESSED' and id = any(?)")) {
+            Array ids = connection.createArrayOf("bigint", sentAtNanos.keySet().toArray());
+            statement.setArray(1, ids);
+            try (ResultSet rs = statement.executeQuery()) {
+                long now = System.nanoTime();
+                while (rs.next()) {
+                    Long sentNanos = sentAtNanos.remove(rs.getLong(1));
+                    if (sentNanos != null) {
+                        synchronized (this) {
+                            lagMillis.recordValue(Math.min(TimeUnit.NANOSECONDS.toMillis(now - sentNanos),
+                                    lagMillis.getHighestTrackableValue()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.itau.registration.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of registrations created during the run that GET, PATCH and DELETE can target.
+ */
+class RegistrationIdPool {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(long id) {
+        ids.add(id);
+    }
+
+    synchronized OptionalLong any() {
+        if (ids.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    synchronized OptionalLong take() {
+        if (ids.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return OptionalLong.of(id);
+    }
+}
@@ -0,0 +1,98 @@
+package com.itau.registration.adapter.in;
+
+import com.itau.registration.config.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Admission control for {@code /registrations}: requests beyond the adaptive concurrency limit are
+ * answered at once with 429 and {@code Retry-After} instead of queueing for a database connection or the
+ * Kafka producer. Reads (GET, HEAD) may use the whole limit, writes only {@code write-share} of it, so
+ * reads keep being served while a signup spike is shed. Bulk imports and exports are admitted as usual
+ * but, being long by design, their duration does not move the limit. Requests that time out waiting for
+ * a connection are not special-cased: their latency alone pulls the limit down.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "registration.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String REJECTED_BODY = "{\"message\":\"Too many requests, retry later\"}";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final String retryAfterSeconds;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    public AdmissionControlFilter(MeterRegistry meterRegistry,
+                                  @Value("${registration.admission.initial-limit:20}") int initialLimit,
+                                  @Value("${registration.admission.min-limit:4}") int minLimit,
+                                  @Value("${registration.admission.max-limit:200}") int maxLimit,
+                                  @Value("${registration.admission.tolerance:1.5}") double tolerance,
+                                  @Value("${registration.admission.write-share:0.8}") double writeShare,
+                                  @Value("${registration.admission.retry-after.seconds:1}") int retryAfterSeconds) {
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, writeShare);
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+        this.rejectedReads = meterRegistry.counter("registration.admission.rejected", "priority", "read");
+        this.rejectedWrites = meterRegistry.counter("registration.admission.rejected", "priority", "write");
+        Gauge.builder("registration.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit).register(meterRegistry);
+        Gauge.builder("registration.admission.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/registrations");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        if (!limit.tryAcquire(write)) {
+            (write ? rejectedWrites : rejectedReads).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(isLongRunning(request) ? -1 : System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(REJECTED_BODY);
+    }
+
+    private static boolean isLongRunning(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/registrations/bulk") || uri.startsWith("/registrations/stream");
+    }
+
+    AdaptiveConcurrencyLimit limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,42 @@
+package com.itau.registration.adapter.in;
+
+import com.itau.registration.config.CorrelationId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the request's {@code X-Correlation-Id} (or a new random one) to the MDC for the duration of the
+ * request and echoes it in the response. Ids that could break a log line are replaced.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(CorrelationId.HTTP_HEADER);
+        if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+            // Not a secret, so no need for SecureRandom
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            correlationId = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        response.setHeader(CorrelationId.HTTP_HEADER, correlationId);
+        try (CorrelationId.Scope ignored = CorrelationId.bind(correlationId)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.itau.registration.adapter.in;
 
+import com.itau.registration.application.exception.EmailAlreadyExistsException;
+import com.itau.registration.application.exception.InvalidCursorException;
+import com.itau.registration.application.exception.InvalidRequestException;
+import com.itau.registration.application.exception.RegistrationVersionMismatchException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +37,42 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
     }
 
+    @ExceptionHandler(EmailAlreadyExistsException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(
+            EmailAlreadyExistsException ex) {
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", "Email already exists please perform an update");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+    }
+
+    @ExceptionHandler(RegistrationVersionMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(
+            RegistrationVersionMismatchException ex) {
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", "Registration was modified, reload it and retry the update");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errors);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(
+            InvalidCursorException ex) {
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", "Invalid cursor");
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(
+            InvalidRequestException ex) {
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(errors);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(
             Exception ex) {
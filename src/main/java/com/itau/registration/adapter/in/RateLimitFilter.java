@@ -0,0 +1,78 @@
+package com.itau.registration.adapter.in;
+
+import com.itau.registration.adapter.out.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limit on {@code /registrations}, ahead of admission control so a noisy client is turned
+ * away before it takes a concurrency slot. Clients sending one of the configured partner keys in
+ * {@code X-Api-Key} get a budget of their own; everyone else is limited by remote address. Unknown keys
+ * are ignored, otherwise a client could get a fresh budget per request by rotating keys.
+ * Behind a proxy, set {@code server.forward-headers-strategy} so the remote address is the client's.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "registration.rate-limit.enabled", havingValue = "true", matchIfMissing = false)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-Api-Key";
+    static final String REJECTED_BODY = "{\"message\":\"Rate limit exceeded, retry later\"}";
+
+    private final RateLimitStore rateLimitStore;
+    private final Set<String> apiKeys;
+    private final Counter rejectedByKey;
+    private final Counter rejectedByAddress;
+
+    public RateLimitFilter(RateLimitStore rateLimitStore,
+                           MeterRegistry meterRegistry,
+                           @Value("${registration.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.rateLimitStore = rateLimitStore;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.rejectedByKey = meterRegistry.counter("registration.rate-limit.rejected", "client", "api-key");
+        this.rejectedByAddress = meterRegistry.counter("registration.rate-limit.rejected", "client", "address");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/registrations");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        boolean partner = apiKey != null && apiKeys.contains(apiKey);
+        long waitNanos = rateLimitStore.tryAcquire(partner ? "key:" + apiKey : "ip:" + request.getRemoteAddr());
+        if (waitNanos <= 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        (partner ? rejectedByKey : rejectedByAddress).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(REJECTED_BODY);
+    }
+}
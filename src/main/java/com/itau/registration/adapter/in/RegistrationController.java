@@ -1,13 +1,28 @@
 package com.itau.registration.adapter.in;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.registration.application.dto.BulkRegistrationResponse;
+import com.itau.registration.application.dto.RegistrationPage;
 import com.itau.registration.application.dto.RegistrationRequest;
 import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.application.dto.RegistrationStatsResponse;
+import com.itau.registration.application.exception.InvalidRequestException;
 import com.itau.registration.application.service.RegistrationService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -16,10 +31,14 @@ import java.util.Optional;
 @RequestMapping("/registrations")
 public class RegistrationController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RegistrationService registrationService;
+    private final ObjectMapper objectMapper;
 
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService, ObjectMapper objectMapper) {
         this.registrationService = registrationService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -28,33 +47,104 @@ public class RegistrationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkRegistrationResponse> importRegistrations(InputStream body) throws IOException {
+        // Accepts a JSON array or newline-delimited objects; records are parsed one at a time.
+        try (MappingIterator<RegistrationRequest> requests = objectMapper.readerFor(RegistrationRequest.class).readValues(body)) {
+            return ResponseEntity.ok(registrationService.importRegistrations(requests));
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<RegistrationResponse>> listRegistrations(
-            @RequestParam(required = false) Long id) {
+            @RequestParam(required = false) Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
         List<RegistrationResponse> registrationResponseList;
+        String nextCursor = null;
 
         if (id != null) {
             Optional<RegistrationResponse> registrationResponse = registrationService.getRegistration(id);
-            registrationResponseList = registrationResponse
-                    .map(Collections::singletonList)
-                    .orElse(Collections.emptyList());
+            if (registrationResponse.isPresent()) {
+                return ResponseEntity.ok()
+                        .eTag(eTag(registrationResponse.get()))
+                        .body(Collections.singletonList(registrationResponse.get()));
+            }
+            registrationResponseList = Collections.emptyList();
         } else {
-            registrationResponseList = registrationService.getAllRegistrations();
+            RegistrationPage page = registrationService.getRegistrations(cursor, limit);
+            registrationResponseList = page.getItems();
+            nextCursor = page.getNextCursor();
+        }
+
+        return pageResponse(registrationResponseList, nextCursor);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<RegistrationResponse>> searchRegistrations(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) String countryCode,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        RegistrationSearchCriteria criteria = RegistrationSearchCriteria.builder()
+                .email(email)
+                .emailPrefix(emailPrefix)
+                .countryCode(countryCode)
+                .status(status)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+        RegistrationPage page = registrationService.searchRegistrations(criteria, cursor, limit);
+        return pageResponse(page.getItems(), page.getNextCursor());
+    }
+
+    private ResponseEntity<List<RegistrationResponse>> pageResponse(List<RegistrationResponse> items, String nextCursor) {
+        if (items.isEmpty()) {
+            return ResponseEntity.noContent().build();
         }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (nextCursor != null) {
+            ok.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return ok.body(items);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<RegistrationStatsResponse> getRegistrationStats() {
+        return ResponseEntity.ok(registrationService.getRegistrationStats());
+    }
 
-        return registrationResponseList.isEmpty()
-                ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(registrationResponseList);
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRegistrations() {
+        StreamingResponseBody body = outputStream -> registrationService.streamRegistrations(response -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(response));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
 
+    // If-Match carries the version from a previous response's ETag; without it the last write wins.
     @PatchMapping("/{id}")
-    public ResponseEntity<RegistrationResponse> updateRegistration(@PathVariable Long id, @RequestBody RegistrationRequest request) {
-        return registrationService.updateRegistration(id, request)
+    public ResponseEntity<RegistrationResponse> updateRegistration(@PathVariable Long id,
+                                                                   @RequestBody RegistrationRequest request,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return registrationService.updateRegistration(id, request, parseVersion(ifMatch))
                 .map(r -> {
                     r.setMessage("Updated successfully");
-                    return ResponseEntity.ok(r);
+                    return ResponseEntity.ok().eTag(eTag(r)).body(r);
                 })
                 .orElseGet(() -> {
                     RegistrationResponse empty = new RegistrationResponse();
@@ -63,6 +153,25 @@ public class RegistrationController {
                 });
     }
 
+    private static String eTag(RegistrationResponse response) {
+        return response.getVersion() != null ? "\"" + response.getVersion() + "\"" : null;
+    }
+
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid If-Match header");
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<RegistrationResponse> deleteRegistration(@PathVariable Long id) {
         RegistrationResponse response = new RegistrationResponse();
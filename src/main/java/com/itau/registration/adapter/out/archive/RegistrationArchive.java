@@ -0,0 +1,78 @@
+package com.itau.registration.adapter.out.archive;
+
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.domain.model.Registration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Read side of the cold tier: routes an id that is no longer in the registration table to the monthly
+ * archive file that holds it. Archived registrations are read-only; deleting one drops its entry, which
+ * also frees its email, and once that commits removes the record from the archive files. If the files
+ * cannot be rewritten the record stays in them (unreachable by id) and an error is logged with the id.
+ */
+@Component
+public class RegistrationArchive {
+
+    Logger logger = LoggerFactory.getLogger(RegistrationArchive.class);
+
+    private final RegistrationRepository registrationRepository;
+    private final RegistrationArchiveStore archiveStore;
+    private final Counter coldReads;
+
+    public RegistrationArchive(RegistrationRepository registrationRepository,
+                               RegistrationArchiveStore archiveStore,
+                               MeterRegistry meterRegistry) {
+        this.registrationRepository = registrationRepository;
+        this.archiveStore = archiveStore;
+        this.coldReads = meterRegistry.counter("registration.archive.reads");
+    }
+
+    public Optional<Registration> find(Long id) {
+        return registrationRepository.findArchiveMonth(id)
+                .flatMap(month -> {
+                    coldReads.increment();
+                    return archiveStore.find(id, YearMonth.from(month));
+                });
+    }
+
+    public boolean delete(Long id) {
+        Optional<YearMonth> month = registrationRepository.deleteArchiveEntry(id).map(YearMonth::from);
+        month.ifPresent(m -> afterCommit(() -> purge(id, m)));
+        return month.isPresent();
+    }
+
+    private void purge(Long id, YearMonth month) {
+        try {
+            archiveStore.purge(id, month);
+        } catch (RuntimeException e) {
+            logger.error("Archived registration ID {} was deleted but its record is still in the {} archive", id, month, e);
+        }
+    }
+
+    // Rewriting the files before the delete commits could drop a record whose entry is then rolled back
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public boolean isArchivedEmail(String email) {
+        return registrationRepository.emailArchived(email);
+    }
+}
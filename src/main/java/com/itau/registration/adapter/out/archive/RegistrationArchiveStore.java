@@ -0,0 +1,260 @@
+package com.itau.registration.adapter.out.archive;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.itau.registration.domain.model.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Cold store: one directory per creation month under {@code registration.archive.dir}
+ * ({@code registrations-2025-01/}) holding one gzip-compressed NDJSON file per archived batch, named
+ * {@code <minId>-<maxId>-<epochMillis>-<random>.ndjson.gz}. A batch file is written under a temporary name,
+ * fsynced and then renamed, so readers never see a partial file and instances sharing the directory never
+ * write to the same file.
+ * <p>
+ * A lookup only opens the files whose id range covers the id, newest first, and stops at the first match.
+ * Batches are taken in creation order, so ranges are narrow and a lookup usually decompresses one file of
+ * at most {@code registration.archive.batch-size} rows. A row is archived again (in a newer file) only if
+ * an earlier run failed after writing its file, so the newest copy is the one that counts.
+ * <p>
+ * Batch files are never changed after they are written, except by {@link #purge}, which rewrites the files
+ * holding a deleted registration without it. Purges hold a lock on the month's {@code .lock} file, so two
+ * of them (on any instance) never rewrite the same file from the same old copy.
+ */
+@Component
+public class RegistrationArchiveStore {
+
+    private static final String SUFFIX = ".ndjson.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LOCK_FILE = ".lock";
+
+    Logger logger = LoggerFactory.getLogger(RegistrationArchiveStore.class);
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+
+    public RegistrationArchiveStore(ObjectMapper objectMapper,
+                                    @Value("${registration.archive.dir:./data/archive}") String directory) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(Registration.class);
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Writes the registrations to a new batch file of the month and returns once the file is durable, so the
+     * caller can delete the rows afterwards.
+     */
+    public void append(YearMonth month, List<Registration> registrations) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+        long minId = registrations.stream().mapToLong(Registration::getId).min().getAsLong();
+        long maxId = registrations.stream().mapToLong(Registration::getId).max().getAsLong();
+        String name = minId + "-" + maxId + "-" + System.currentTimeMillis() + "-" + UUID.randomUUID() + SUFFIX;
+        try {
+            List<String> lines = new ArrayList<>(registrations.size());
+            for (Registration registration : registrations) {
+                lines.add(writer.writeValueAsString(registration));
+            }
+            writeDurably(Files.createDirectories(monthDirectory(month)), name, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive registrations of " + month, e);
+        }
+    }
+
+    /**
+     * Removes every copy of the registration from the month's batch files. A file left empty is deleted;
+     * a damaged file is skipped with a warning, like in {@link #find(Long, YearMonth)}.
+     */
+    public synchronized void purge(Long id, YearMonth month) {
+        Path monthDirectory = monthDirectory(month);
+        if (!Files.isDirectory(monthDirectory)) {
+            return;
+        }
+        try (FileChannel lockFile = FileChannel.open(monthDirectory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockFile.lock()) {
+            for (BatchFile batch : candidates(id, monthDirectory)) {
+                purge(id, batch.path());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to purge registration " + id + " from the archive of " + month, e);
+        }
+    }
+
+    private void purge(Long id, Path file) throws IOException {
+        List<String> kept = new ArrayList<>();
+        boolean found = false;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (id.equals(readId(line))) {
+                    found = true;
+                } else {
+                    kept.add(line);
+                }
+            }
+        } catch (EOFException | ZipException e) {
+            logger.warn("Skipping damaged archive file {}: {}", file, e.toString());
+            return;
+        }
+        if (!found) {
+            return;
+        }
+        if (kept.isEmpty()) {
+            Files.delete(file);
+            forceDirectory(file.getParent());
+        } else {
+            writeDurably(file.getParent(), file.getFileName().toString(), kept);
+        }
+    }
+
+    // Written under a temporary name, fsynced and renamed over the target, so readers see the old or the
+    // new file and never a partial one
+    private static void writeDurably(Path monthDirectory, String name, List<String> lines) throws IOException {
+        Path temp = monthDirectory.resolve(name + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+            }
+            out.flush();
+            // Writes the remaining deflated data and the gzip trailer before the fsync
+            gzip.finish();
+            channel.force(true);
+        }
+        Files.move(temp, monthDirectory.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(monthDirectory);
+    }
+
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    public Optional<Registration> find(Long id, YearMonth month) {
+        Path monthDirectory = monthDirectory(month);
+        if (!Files.isDirectory(monthDirectory)) {
+            return Optional.empty();
+        }
+        List<BatchFile> candidates;
+        try {
+            candidates = candidates(id, monthDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archived registrations of " + month, e);
+        }
+        for (BatchFile batch : candidates) {
+            Optional<Registration> match = find(id, batch.path());
+            if (match.isPresent()) {
+                return match;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Only the id of each line is parsed, with a streaming parser; the matching line is then read in full.
+    // A damaged file (e.g. cut short by a copy between volumes) is skipped instead of failing the lookup.
+    private Optional<Registration> find(Long id, Path file) {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (id.equals(readId(line))) {
+                    return Optional.of(objectMapper.readValue(line, Registration.class));
+                }
+            }
+            return Optional.empty();
+        } catch (EOFException | ZipException e) {
+            logger.warn("Skipping damaged archive file {}: {}", file, e.toString());
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived registrations from " + file, e);
+        }
+    }
+
+    // Batch files whose id range covers the id, newest first
+    private static List<BatchFile> candidates(Long id, Path monthDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(monthDirectory)) {
+            return files.map(BatchFile::parse)
+                    .flatMap(Optional::stream)
+                    .filter(batch -> batch.minId() <= id && id <= batch.maxId())
+                    .sorted(Comparator.comparingLong(BatchFile::writtenAt).reversed())
+                    .toList();
+        }
+    }
+
+    private Long readId(String line) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field)) {
+                    return value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    Path monthDirectory(YearMonth month) {
+        return directory.resolve("registrations-" + month);
+    }
+
+    private record BatchFile(Path path, long minId, long maxId, long writtenAt) {
+
+        // Temporary files of unfinished writes do not end in the suffix and are ignored
+        static Optional<BatchFile> parse(Path path) {
+            String name = path.getFileName().toString();
+            if (!name.endsWith(SUFFIX)) {
+                return Optional.empty();
+            }
+            String[] parts = name.split("-", 4);
+            try {
+                return Optional.of(new BatchFile(path, Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.itau.registration.adapter.out.archive;
+
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.adapter.out.stats.RegistrationStats;
+import com.itau.registration.domain.model.Registration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves PROCESSED registrations older than {@code registration.archive.after-days} out of the hot table,
+ * so its indexes and vacuum work are bounded by the recent rows instead of the whole history. Each batch
+ * locks the rows, writes them to a new batch file of their month and fsyncs it, then deletes them and records
+ * their archive month in one statement, committed only after the file is durable. A failure after the file
+ * write leaves the rows hot and an extra batch file; the next run archives them again in a newer file.
+ */
+@Component
+@ConditionalOnProperty(name = "registration.archive.enabled", havingValue = "true")
+public class RegistrationArchiver {
+
+    Logger logger = LoggerFactory.getLogger(RegistrationArchiver.class);
+
+    private final RegistrationRepository registrationRepository;
+    private final RegistrationArchiveStore archiveStore;
+    private final RegistrationStats registrationStats;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final long afterDays;
+    private final int batchSize;
+
+    public RegistrationArchiver(RegistrationRepository registrationRepository,
+                                RegistrationArchiveStore archiveStore,
+                                RegistrationStats registrationStats,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${registration.archive.after-days:90}") long afterDays,
+                                @Value("${registration.archive.batch-size:1000}") int batchSize) {
+        this.registrationRepository = registrationRepository;
+        this.archiveStore = archiveStore;
+        this.registrationStats = registrationStats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = meterRegistry.counter("registration.archived");
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${registration.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long total = 0;
+        int moved;
+        do {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            moved = batch != null ? batch : 0;
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            logger.info("Archived {} registrations created before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Registration> batch = registrationRepository.lockArchivable(cutoff, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<YearMonth, List<Registration>> byMonth = new TreeMap<>();
+        for (Registration registration : batch) {
+            byMonth.computeIfAbsent(YearMonth.from(registration.getCreatedAt()), m -> new ArrayList<>()).add(registration);
+        }
+        byMonth.forEach(archiveStore::append);
+
+        registrationRepository.moveToArchive(batch.stream().map(Registration::getId).toList());
+        registrationStats.archived(batch);
+        archived.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.itau.registration.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.registration.application.dto.RegistrationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+@Component
+@Order(0)
+public class CaffeineRegistrationCacheTier implements RegistrationCacheTier {
+
+    private final Cache<Long, RegistrationResponse> cache;
+
+    public CaffeineRegistrationCacheTier(MeterRegistry meterRegistry,
+                                         @Value("${registration.cache.maximum-size:10000}") long maximumSize,
+                                         @Value("${registration.cache.ttl.seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "registrations", "tier", "local");
+    }
+
+    @Override
+    public Optional<RegistrationResponse> get(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    @Override
+    public void put(RegistrationResponse response) {
+        cache.put(response.getId(), response);
+    }
+
+    @Override
+    public void evict(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,65 @@
+package com.itau.registration.adapter.out.cache;
+
+import com.itau.registration.application.dto.RegistrationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for a distributed second tier (e.g. Redis) so multi-tier behaviour can be exercised
+ * locally. A real implementation only needs to provide another {@link RegistrationCacheTier}.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "registration.cache.shared.enabled", havingValue = "true")
+public class InMemorySharedRegistrationCacheTier implements RegistrationCacheTier {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public InMemorySharedRegistrationCacheTier(MeterRegistry meterRegistry,
+                                               @Value("${registration.cache.shared.ttl.seconds:900}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.hits = Counter.builder("cache.gets").tag("cache", "registrations").tag("tier", "shared")
+                .tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "registrations").tag("tier", "shared")
+                .tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public Optional<RegistrationResponse> get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null || entry.expiresAt() < System.currentTimeMillis()) {
+            if (entry != null) {
+                entries.remove(id, entry);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.response());
+    }
+
+    @Override
+    public void put(RegistrationResponse response) {
+        entries.put(response.getId(), new Entry(response, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public void evict(Collection<Long> ids) {
+        ids.forEach(entries::remove);
+    }
+
+    private record Entry(RegistrationResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.itau.registration.adapter.out.cache;
+
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+
+/**
+ * Bloom filter of the (lower-cased) emails in the registration table, used to skip the duplicate check
+ * for emails that were never seen. Until the first build from a streamed table scan completes every
+ * email is reported as possibly known. Deleted or changed emails cannot be removed from a Bloom filter;
+ * their stale bits only cost an extra indexed lookup and are dropped by the periodic rebuild.
+ * The unique index stays the source of truth for anything the filter misses.
+ */
+@Component
+public class KnownEmailFilter {
+
+    Logger logger = LoggerFactory.getLogger(KnownEmailFilter.class);
+
+    private final RegistrationRepository registrationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int fetchSize;
+    private final Counter absent;
+    private final Counter probable;
+    private final Counter warming;
+
+    private volatile BloomFilter active;
+    private volatile BloomFilter building;
+
+    public KnownEmailFilter(RegistrationRepository registrationRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${registration.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${registration.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${registration.stream.fetch-size:1000}") int fetchSize) {
+        this.registrationRepository = registrationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.fetchSize = fetchSize;
+        this.absent = meterRegistry.counter("registration.email.filter", "result", "absent");
+        this.probable = meterRegistry.counter("registration.email.filter", "result", "probable");
+        this.warming = meterRegistry.counter("registration.email.filter", "result", "warming");
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter filter = active;
+        if (filter == null) {
+            warming.increment();
+            return true;
+        }
+        if (filter.mightContain(normalize(email))) {
+            probable.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+        BloomFilter filter = active;
+        if (filter != null) {
+            filter.add(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        Thread.ofPlatform().name("email-filter-warmup").daemon().start(this::rebuild);
+    }
+
+    @Scheduled(initialDelayString = "${registration.email-filter.rebuild.interval.millis:21600000}",
+            fixedDelayString = "${registration.email-filter.rebuild.interval.millis:21600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        building = next;
+        try {
+            long[] count = new long[1];
+            readOnlyTransaction.executeWithoutResult(status -> registrationRepository.streamEmails(fetchSize, email -> {
+                next.add(normalize(email));
+                count[0]++;
+            }));
+            active = next;
+            logger.info("Email filter built from {} registrations in {} ms ({} bits, {} hashes)", count[0],
+                    (System.nanoTime() - start) / 1_000_000, next.bitCount(), next.hashCount());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build the email filter, duplicate checks keep querying the database", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.itau.registration.adapter.out.cache;
+
+import com.itau.registration.application.dto.RegistrationResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link RegistrationResponse} by id, backed by the ordered
+ * {@link RegistrationCacheTier}s (fastest first). A hit in a slower tier is copied into the faster ones.
+ * <p>
+ * A read can load a row just before an update commits and put it after the update's eviction. To keep
+ * that stale copy out, every eviction first bumps a counter for the id's stripe, and a read whose stripe
+ * changed between its lookup and its put evicts what it put. This covers readers and writers of this
+ * instance; a stale put into a shared tier by another instance lasts until that tier's TTL.
+ */
+@Component
+public class RegistrationCache {
+
+    private static final int STRIPES = 1024;
+
+    private final List<RegistrationCacheTier> tiers;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    public RegistrationCache(List<RegistrationCacheTier> tiers) {
+        this.tiers = List.copyOf(tiers);
+    }
+
+    public Optional<RegistrationResponse> get(Long id, Supplier<Optional<RegistrationResponse>> loader) {
+        long stamp = invalidations.get(stripe(id));
+        for (int i = 0; i < tiers.size(); i++) {
+            Optional<RegistrationResponse> hit = tiers.get(i).get(id);
+            if (hit.isPresent()) {
+                fill(tiers.subList(0, i), hit.get(), stamp);
+                return hit;
+            }
+        }
+        Optional<RegistrationResponse> loaded = loader.get();
+        loaded.ifPresent(response -> fill(tiers, response, stamp));
+        return loaded;
+    }
+
+    public void evict(Long id) {
+        evict(List.of(id));
+    }
+
+    public void evict(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Evicting before commit would let a concurrent read re-cache the old row.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(ids);
+                }
+            });
+        } else {
+            evictNow(ids);
+        }
+    }
+
+    private void evictNow(Collection<Long> ids) {
+        ids.forEach(id -> invalidations.incrementAndGet(stripe(id)));
+        tiers.forEach(tier -> tier.evict(ids));
+    }
+
+    // The recheck comes after the puts: an eviction that bumped the stripe before it removed our copy is
+    // seen here, and one that bumps it later also removes the copy itself.
+    private void fill(List<RegistrationCacheTier> targets, RegistrationResponse response, long stamp) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        targets.forEach(tier -> tier.put(response));
+        if (invalidations.get(stripe(response.getId())) != stamp) {
+            List<Long> ids = List.of(response.getId());
+            targets.forEach(tier -> tier.evict(ids));
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.itau.registration.adapter.out.cache;
+
+import com.itau.registration.application.dto.RegistrationResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface RegistrationCacheTier {
+
+    Optional<RegistrationResponse> get(Long id);
+
+    void put(RegistrationResponse response);
+
+    void evict(Collection<Long> ids);
+}
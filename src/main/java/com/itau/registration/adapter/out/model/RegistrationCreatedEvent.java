@@ -1,5 +1,6 @@
 package com.itau.registration.adapter.out.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -7,9 +8,18 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 public class RegistrationCreatedEvent {
     private Long registrationId;
     private String email;
     private LocalDateTime createdAt;
+
+    // Travels as the correlation_id record header, not in the payload
+    @JsonIgnore
+    private String correlationId;
+
+    public RegistrationCreatedEvent(Long registrationId, String email, LocalDateTime createdAt) {
+        this.registrationId = registrationId;
+        this.email = email;
+        this.createdAt = createdAt;
+    }
 }
@@ -0,0 +1,8 @@
+package com.itau.registration.adapter.out.notification;
+
+public class EmailDeliveryException extends Exception {
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
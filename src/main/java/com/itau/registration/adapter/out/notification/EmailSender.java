@@ -0,0 +1,23 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+
+/**
+ * Delivery channel behind {@link EmailService}, selected with {@code notification.email.sender}.
+ */
+public interface EmailSender {
+
+    /**
+     * Opens a session for sending a run of messages, e.g. one pooled SMTP connection. Sessions are
+     * used by a single thread and must be closed.
+     */
+    Session openSession();
+
+    interface Session extends AutoCloseable {
+
+        void send(RegistrationCreatedEvent event) throws EmailDeliveryException;
+
+        @Override
+        void close();
+    }
+}
@@ -1,15 +1,105 @@
 package com.itau.registration.adapter.out.notification;
 
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import com.itau.registration.config.CorrelationId;
+import com.itau.registration.config.RateLimitedLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a batch of notifications grouped by recipient domain: each domain's messages go through one
+ * {@link EmailSender} session, and at most {@code notification.email.per-domain-concurrency} sessions
+ * per domain are open across all notification workers, so one slow or throttling provider cannot take
+ * every connection. Sends are counted in {@code notification.email.sent{outcome}} and timed per message
+ * in {@code notification.email.send}.
+ */
 @Service
 public class EmailService {
 
     Logger logger = LoggerFactory.getLogger(EmailService.class);
 
-    public void sendRegistrationNotification(Long registrationId, String email) {
-        logger.info("Sending email to {} for registration ID {} approval", email, registrationId);
+    private final EmailSender emailSender;
+    private final int perDomainConcurrency;
+    private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
+    private final Timer sendTimer;
+    private final Counter sent;
+    private final Counter failed;
+    private final RateLimitedLog failureLog = new RateLimitedLog(10, Duration.ofSeconds(1));
+
+    public EmailService(EmailSender emailSender,
+                        MeterRegistry meterRegistry,
+                        @Value("${notification.email.per-domain-concurrency:4}") int perDomainConcurrency) {
+        this.emailSender = emailSender;
+        this.perDomainConcurrency = perDomainConcurrency;
+        this.sendTimer = Timer.builder("notification.email.send")
+                .description("Time to hand one notification email to the delivery channel")
+                .register(meterRegistry);
+        this.sent = meterRegistry.counter("notification.email.sent", "outcome", "success");
+        this.failed = meterRegistry.counter("notification.email.sent", "outcome", "failure");
+    }
+
+    /**
+     * Returns the events whose email could not be sent; the rest were delivered.
+     */
+    public List<RegistrationCreatedEvent> sendRegistrationNotifications(List<RegistrationCreatedEvent> events) {
+        List<RegistrationCreatedEvent> failures = new ArrayList<>();
+        for (Map.Entry<String, List<RegistrationCreatedEvent>> domain : groupByDomain(events).entrySet()) {
+            Semaphore permits = domainPermits.computeIfAbsent(domain.getKey(), d -> new Semaphore(perDomainConcurrency));
+            permits.acquireUninterruptibly();
+            try (EmailSender.Session session = emailSender.openSession()) {
+                for (RegistrationCreatedEvent event : domain.getValue()) {
+                    if (!send(session, event)) {
+                        failures.add(event);
+                    }
+                }
+            } finally {
+                permits.release();
+            }
+        }
+        return failures;
+    }
+
+    private boolean send(EmailSender.Session session, RegistrationCreatedEvent event) {
+        long start = System.nanoTime();
+        try (CorrelationId.Scope ignored = CorrelationId.bind(event.getCorrelationId())) {
+            session.send(event);
+            sent.increment();
+            return true;
+        } catch (EmailDeliveryException e) {
+            failed.increment();
+            long suppressed = failureLog.tryAcquire();
+            if (suppressed >= 0) {
+                logger.warn("Failed to send email for registration ID {} ({} similar failures not logged)",
+                        event.getRegistrationId(), suppressed, e);
+            }
+            return false;
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Map<String, List<RegistrationCreatedEvent>> groupByDomain(List<RegistrationCreatedEvent> events) {
+        Map<String, List<RegistrationCreatedEvent>> byDomain = new LinkedHashMap<>();
+        for (RegistrationCreatedEvent event : events) {
+            String email = event.getEmail() != null ? event.getEmail() : "";
+            String domain = email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+            byDomain.computeIfAbsent(domain, d -> new ArrayList<>()).add(event);
+        }
+        return byDomain;
     }
 }
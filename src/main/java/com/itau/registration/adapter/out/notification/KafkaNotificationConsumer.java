@@ -1,38 +1,46 @@
 package com.itau.registration.adapter.out.notification;
 
 import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
-import com.itau.registration.adapter.out.persistence.RegistrationRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import com.itau.registration.config.CorrelationId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 
 @Component
-@RequiredArgsConstructor
 public class KafkaNotificationConsumer {
-    private final RegistrationRepository registrationRepository;
-    private final EmailService emailService;
-
-    @Value("${kafka.delay.millis:120000}")
-    private long delayMillis;
-
-    @KafkaListener(topics = "notifications", groupId = "notification-group")
-    public void consume(RegistrationCreatedEvent event) throws InterruptedException {
-        long elapsed = Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis();
+    private final NotificationScheduler notificationScheduler;
+    private final ProcessedNotifications processedNotifications;
+    private final Counter duplicates;
+
+    static final String LISTENER_ID = "notification-listener";
+
+    public KafkaNotificationConsumer(NotificationScheduler notificationScheduler,
+                                     ProcessedNotifications processedNotifications,
+                                     MeterRegistry meterRegistry) {
+        this.notificationScheduler = notificationScheduler;
+        this.processedNotifications = processedNotifications;
+        this.duplicates = meterRegistry.counter("notification.duplicates", "stage", "consumer");
+    }
 
-        if (elapsed < delayMillis) {
-            Thread.sleep(delayMillis - elapsed);
+    // Started by NotificationListenerStarter once the application is ready
+    @KafkaListener(id = LISTENER_ID, topics = "notifications", groupId = "notification-group",
+            concurrency = "${notification.listener.concurrency:1}", autoStartup = "false")
+    public void consume(RegistrationCreatedEvent event, Acknowledgment acknowledgment,
+                        @Header(name = CorrelationId.KAFKA_HEADER, required = false) byte[] correlationId) {
+        if (correlationId != null) {
+            event.setCorrelationId(new String(correlationId, StandardCharsets.UTF_8));
         }
-
-        emailService.sendRegistrationNotification(event.getRegistrationId(), event.getEmail());
-
-        registrationRepository.findById(event.getRegistrationId()).ifPresent(reg -> {
-            reg.setStatus("PROCESSED");
-            reg.setUpdatedAt(LocalDateTime.now());
-            registrationRepository.save(reg);
-        });
+        // Redelivered after a rebalance: already sent, nothing to wait for
+        if (processedNotifications.contains(event.getRegistrationId())) {
+            duplicates.increment();
+            acknowledgment.acknowledge();
+            return;
+        }
+        notificationScheduler.schedule(event, acknowledgment);
     }
 }
@@ -1,29 +1,162 @@
 package com.itau.registration.adapter.out.notification;
 
 import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
-import lombok.RequiredArgsConstructor;
+import com.itau.registration.config.CorrelationId;
+import com.itau.registration.config.RateLimitedLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Publishes registration events keyed by registration id, so a registration's events stay on one
+ * partition and keys spread evenly. Sends never block: the returned future completes from the producer
+ * callback. A send that fails with a retriable error is re-sent after a backoff while it fits in a
+ * bounded retry buffer ({@code notification.publish.retry.buffer-size}); when the buffer is full or
+ * the attempts are exhausted the future fails, and the outbox row is kept for the next relay run.
+ */
 @Component
-@RequiredArgsConstructor
 public class KafkaNotificationPublisher {
     Logger logger = LoggerFactory.getLogger(KafkaNotificationPublisher.class);
 
-    private final KafkaTemplate<String, RegistrationCreatedEvent> kafkaTemplate;
     private static final String TOPIC = "notifications";
 
-    public void publishRegistrationCreatedEvent(Long registrationId, String email, LocalDateTime createdAt) {
-        RegistrationCreatedEvent event = new RegistrationCreatedEvent();
-        event.setRegistrationId(registrationId);
-        event.setEmail(email);
-        event.setCreatedAt(createdAt);
+    private final KafkaTemplate<String, RegistrationCreatedEvent> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Semaphore retryBuffer;
+    private final ScheduledExecutorService retryExecutor;
+    private final RateLimitedLog failureLog = new RateLimitedLog(10, Duration.ofSeconds(1));
+
+    public KafkaNotificationPublisher(KafkaTemplate<String, RegistrationCreatedEvent> kafkaTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notification.publish.retry.max-attempts:3}") int maxAttempts,
+                                      @Value("${notification.publish.retry.backoff.millis:200}") long retryBackoffMillis,
+                                      @Value("${notification.publish.retry.buffer-size:1000}") int retryBufferSize) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.retryBuffer = new Semaphore(retryBufferSize);
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("kafka-publish-retry-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        retryExecutor.shutdownNow();
+    }
+
+    public CompletableFuture<SendResult<String, RegistrationCreatedEvent>> publishRegistrationCreatedEvent(
+            Long registrationId, String email, LocalDateTime createdAt, String correlationId) {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(registrationId, email, createdAt);
+        event.setCorrelationId(correlationId);
+
+        CompletableFuture<SendResult<String, RegistrationCreatedEvent>> result = new CompletableFuture<>();
+        send(String.valueOf(registrationId), event, 1, result);
+        return result;
+    }
+
+    private void send(String key, RegistrationCreatedEvent event, int attempt,
+                      CompletableFuture<SendResult<String, RegistrationCreatedEvent>> result) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, RegistrationCreatedEvent>> send;
+        try {
+            send = kafkaTemplate.send(record(key, event));
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        send.whenComplete((sendResult, ex) -> {
+            Throwable cause = unwrap(ex);
+            recordSend(sample, cause);
+            if (cause == null) {
+                logger.debug("Registration Created Event {} sent to Kafka Topic: {}", key, TOPIC);
+                result.complete(sendResult);
+            } else if (attempt < maxAttempts && isRetriable(cause)) {
+                retry(key, event, attempt, result, cause);
+            } else {
+                fail(key, attempt, result, cause);
+            }
+        });
+    }
+
+    private void retry(String key, RegistrationCreatedEvent event, int attempt,
+                       CompletableFuture<SendResult<String, RegistrationCreatedEvent>> result, Throwable cause) {
+        if (!retryBuffer.tryAcquire()) {
+            meterRegistry.counter("kafka.send.retry.rejected", "topic", TOPIC).increment();
+            fail(key, attempt, result, cause);
+            return;
+        }
+        meterRegistry.counter("kafka.send.retries", "topic", TOPIC).increment();
+        try {
+            retryExecutor.schedule(() -> {
+                retryBuffer.release();
+                send(key, event, attempt + 1, result);
+            }, retryBackoffMillis * attempt, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            retryBuffer.release();
+            fail(key, attempt, result, cause);
+        }
+    }
+
+    private void fail(String key, int attempt, CompletableFuture<SendResult<String, RegistrationCreatedEvent>> result,
+                      Throwable cause) {
+        meterRegistry.counter("kafka.send.failures", "topic", TOPIC, "exception", cause.getClass().getSimpleName())
+                .increment();
+        long suppressed = failureLog.tryAcquire();
+        if (suppressed >= 0) {
+            logger.warn("Failed to send Registration Created Event {} after {} attempt(s) ({} similar failures not logged)",
+                    key, attempt, suppressed, cause);
+        }
+        result.completeExceptionally(cause);
+    }
+
+    // A new record per attempt: the producer makes a sent record's headers read-only
+    private static ProducerRecord<String, RegistrationCreatedEvent> record(String key, RegistrationCreatedEvent event) {
+        ProducerRecord<String, RegistrationCreatedEvent> record = new ProducerRecord<>(TOPIC, key, event);
+        if (event.getCorrelationId() != null) {
+            record.headers().add(CorrelationId.KAFKA_HEADER, event.getCorrelationId().getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+
+    private void recordSend(Timer.Sample sample, Throwable cause) {
+        sample.stop(Timer.builder("kafka.send")
+                .description("Time until the broker acknowledged a notification record")
+                .tag("topic", TOPIC)
+                .tag("outcome", cause == null ? "success" : "failure")
+                .register(meterRegistry));
+    }
+
+    private static boolean isRetriable(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        kafkaTemplate.send(TOPIC, event);
-        logger.info("Registration Created Event sent to Kafka Topic: {}", TOPIC);
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
     }
 }
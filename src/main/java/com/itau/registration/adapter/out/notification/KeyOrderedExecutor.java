@@ -0,0 +1,57 @@
+package com.itau.registration.adapter.out.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes. Tasks submitted for the same key always land on
+ * the same lane and run in submission order; different keys spread across lanes and run in parallel.
+ * A full lane blocks the submitter rather than running the task on the caller's thread, which would
+ * break the ordering.
+ */
+class KeyOrderedExecutor {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    KeyOrderedExecutor(int laneCount, int queueCapacity, ThreadFactory threadFactory) {
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        int laneCapacity = Math.max(1, queueCapacity / lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity), threadFactory, KeyOrderedExecutor::blockUntilQueued);
+        }
+    }
+
+    int laneCount() {
+        return lanes.length;
+    }
+
+    int laneFor(Long key) {
+        return key == null ? 0 : (int) Math.floorMod(key, (long) lanes.length);
+    }
+
+    void execute(int lane, Runnable task) {
+        lanes[lane].execute(task);
+    }
+
+    void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Notification lane is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a notification lane", e);
+        }
+    }
+}
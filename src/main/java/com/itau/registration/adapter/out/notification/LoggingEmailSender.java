@@ -0,0 +1,50 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import com.itau.registration.config.RateLimitedLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Stand-in sender that only logs. Every email is logged at DEBUG; at INFO only a sample of
+ * {@code notification.email.log.per-second} emails per second is logged.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.email.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingEmailSender implements EmailSender {
+
+    Logger logger = LoggerFactory.getLogger(LoggingEmailSender.class);
+
+    private final RateLimitedLog sample;
+
+    public LoggingEmailSender(@Value("${notification.email.log.per-second:20}") int perSecond) {
+        this.sample = new RateLimitedLog(perSecond, Duration.ofSeconds(1));
+    }
+
+    @Override
+    public Session openSession() {
+        return new Session() {
+            @Override
+            public void send(RegistrationCreatedEvent event) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Sending email to {} for registration ID {} approval", event.getEmail(), event.getRegistrationId());
+                    return;
+                }
+                long skipped = sample.tryAcquire();
+                if (skipped >= 0) {
+                    logger.info("Sending email to {} for registration ID {} approval ({} more not logged)",
+                            event.getEmail(), event.getRegistrationId(), skipped);
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
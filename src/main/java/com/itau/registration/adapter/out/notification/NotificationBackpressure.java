@@ -0,0 +1,51 @@
+package com.itau.registration.adapter.out.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pauses the notifications listener when more than {@code notification.backpressure.max-in-flight}
+ * consumed events are still unacknowledged (waiting for their delay, queued on a lane or being sent)
+ * and resumes it once half of them have drained. Pausing keeps the consumer polling, so the group does
+ * not rebalance while the workers catch up.
+ */
+@Component
+public class NotificationBackpressure {
+
+    Logger logger = LoggerFactory.getLogger(NotificationBackpressure.class);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final NotificationScheduler notificationScheduler;
+    private final int maxInFlight;
+    private final int resumeBelow;
+
+    public NotificationBackpressure(KafkaListenerEndpointRegistry listenerRegistry,
+                                    NotificationScheduler notificationScheduler,
+                                    @Value("${notification.backpressure.max-in-flight:50000}") int maxInFlight) {
+        this.listenerRegistry = listenerRegistry;
+        this.notificationScheduler = notificationScheduler;
+        this.maxInFlight = maxInFlight;
+        this.resumeBelow = maxInFlight / 2;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.backpressure.check.millis:200}")
+    public void check() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(KafkaNotificationConsumer.LISTENER_ID);
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+        int inFlight = notificationScheduler.inFlight();
+        if (!container.isPauseRequested() && inFlight >= maxInFlight) {
+            logger.warn("Pausing notification consumption, {} events in flight", inFlight);
+            container.pause();
+        } else if (container.isPauseRequested() && inFlight <= resumeBelow) {
+            logger.info("Resuming notification consumption, {} events in flight", inFlight);
+            container.resume();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown by {@link NotificationProcessor} when only part of a batch could be delivered; the other events
+ * have been marked PROCESSED and only {@link #getFailed()} need a retry.
+ */
+@Getter
+public class NotificationDeliveryException extends RuntimeException {
+
+    private final List<RegistrationCreatedEvent> failed;
+
+    public NotificationDeliveryException(List<RegistrationCreatedEvent> failed) {
+        super(failed.size() + " notification(s) could not be delivered");
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,39 @@
+package com.itau.registration.adapter.out.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the notifications listener when the application starts accepting traffic instead of during
+ * context refresh. Connecting to the brokers and joining the consumer group are then off the startup
+ * path, and a new instance does not take partitions (triggering a rebalance) before it is ready.
+ */
+@Component
+public class NotificationListenerStarter {
+
+    Logger logger = LoggerFactory.getLogger(NotificationListenerStarter.class);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    public NotificationListenerStarter(KafkaListenerEndpointRegistry listenerRegistry) {
+        this.listenerRegistry = listenerRegistry;
+    }
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(KafkaNotificationConsumer.LISTENER_ID);
+        if (container != null && !container.isRunning()) {
+            logger.info("Application ready, starting the notification listener");
+            container.start();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.cache.RegistrationCache;
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.adapter.out.stats.RegistrationStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class NotificationProcessor {
+
+    Logger logger = LoggerFactory.getLogger(NotificationProcessor.class);
+
+    private final RegistrationRepository registrationRepository;
+    private final EmailService emailService;
+    private final RegistrationCache registrationCache;
+    private final ProcessedNotifications processedNotifications;
+    private final RegistrationStats registrationStats;
+    private final TransactionTemplate transactionTemplate;
+    // Claimed registrations whose email failed and whose release back to PROCESSING has not committed yet
+    private final Set<Long> unreleased = ConcurrentHashMap.newKeySet();
+    private final Counter duplicates;
+
+    public NotificationProcessor(RegistrationRepository registrationRepository,
+                                 EmailService emailService,
+                                 RegistrationCache registrationCache,
+                                 ProcessedNotifications processedNotifications,
+                                 RegistrationStats registrationStats,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.registrationRepository = registrationRepository;
+        this.emailService = emailService;
+        this.registrationCache = registrationCache;
+        this.processedNotifications = processedNotifications;
+        this.registrationStats = registrationStats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.duplicates = meterRegistry.counter("notification.duplicates", "stage", "database");
+    }
+
+    // Registrations are claimed (PROCESSING -> PROCESSED) and committed before any email goes out, so a
+    // redelivered event, here or on another instance, finds the row already flipped and skips it. The emails
+    // are sent outside any transaction, so no connection or row lock is held during SMTP; undelivered ones are
+    // then put back to PROCESSING in a second short transaction. If that transaction fails, their ids are kept
+    // as unreleased and the events are still reported as failed; their retry first repeats the release, so
+    // the claim does not take them for duplicates. Only if the instance dies in between do the claimed
+    // rows stay PROCESSED without their emails having been sent.
+    public void process(List<RegistrationCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<Long, RegistrationCreatedEvent> byId = new LinkedHashMap<>();
+        for (RegistrationCreatedEvent event : events) {
+            byId.putIfAbsent(event.getRegistrationId(), event);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        releaseUnreleased(byId.keySet(), now);
+        List<Long> claimed = transactionTemplate.execute(status -> claim(byId.keySet(), now));
+        duplicates.increment(events.size() - claimed.size());
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<RegistrationCreatedEvent> toSend = claimed.stream().map(byId::get).toList();
+        List<RegistrationCreatedEvent> failed = emailService.sendRegistrationNotifications(toSend);
+
+        List<Long> delivered = new ArrayList<>(claimed);
+        if (!failed.isEmpty()) {
+            List<Long> failedIds = failed.stream().map(RegistrationCreatedEvent::getRegistrationId).toList();
+            delivered.removeAll(failedIds);
+            processedNotifications.addAll(delivered);
+            unreleased.addAll(failedIds);
+            try {
+                transactionTemplate.executeWithoutResult(status -> release(failedIds, now));
+                failedIds.forEach(unreleased::remove);
+            } catch (RuntimeException e) {
+                logger.warn("Could not put {} undelivered registrations back to PROCESSING, will retry", failedIds.size(), e);
+            }
+            throw new NotificationDeliveryException(failed);
+        }
+        processedNotifications.addAll(delivered);
+    }
+
+    // Gives up on registrations whose notification ran out of attempts, so they do not stay PROCESSING
+    // forever. Rows another attempt has meanwhile delivered are left alone. Returns the ids that were marked.
+    public List<Long> markFailed(List<RegistrationCreatedEvent> events) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (RegistrationCreatedEvent event : events) {
+            ids.add(event.getRegistrationId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        releaseUnreleased(ids, now);
+        return transactionTemplate.execute(status -> {
+            List<Long> failed = registrationRepository.markNotificationFailed(ids, now);
+            registrationStats.statusChanged("PROCESSING", "NOTIFICATION_FAILED", failed.size());
+            registrationCache.evict(failed);
+            return failed;
+        });
+    }
+
+    private void releaseUnreleased(Collection<Long> ids, LocalDateTime now) {
+        List<Long> pending = ids.stream().filter(unreleased::contains).toList();
+        if (!pending.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> release(pending, now));
+            pending.forEach(unreleased::remove);
+        }
+    }
+
+    private List<Long> claim(Collection<Long> ids, LocalDateTime now) {
+        List<Long> claimed = registrationRepository.markProcessed(ids, now);
+        registrationStats.statusChanged("PROCESSING", "PROCESSED", claimed.size());
+        registrationCache.evict(claimed);
+        return claimed;
+    }
+
+    private void release(List<Long> ids, LocalDateTime now) {
+        List<Long> released = registrationRepository.markUnprocessed(ids, now);
+        registrationStats.statusChanged("PROCESSED", "PROCESSING", released.size());
+        registrationCache.evict(released);
+    }
+}
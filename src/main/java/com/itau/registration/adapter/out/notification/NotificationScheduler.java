@@ -0,0 +1,269 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds consumed events until {@code createdAt + kafka.delay.millis} and runs them on bounded
+ * worker lanes, so the listener thread never sleeps. Due events are grouped into batches of up to
+ * {@code notification.batch.size}, waiting at most {@code notification.batch.max-wait-millis} for a
+ * batch to fill, and each batch is split by registration id across {@code notification.workers}
+ * lanes: different registrations are processed in parallel, one registration's events in order.
+ * The Kafka offset of an event is acknowledged only after its batch has been processed, or after it
+ * has exhausted {@code notification.retry.max-attempts} and its registration has been marked
+ * NOTIFICATION_FAILED (counted as {@code notification.dead-lettered}). With async acks the container
+ * commits up to the highest contiguous offset.
+ * The delay actually applied (creation to first processing attempt) is recorded as
+ * {@code notification.delay.applied} next to the configured {@code notification.delay.configured}.
+ */
+@Component
+public class NotificationScheduler {
+
+    Logger logger = LoggerFactory.getLogger(NotificationScheduler.class);
+
+    private final NotificationProcessor notificationProcessor;
+    private final MeterRegistry meterRegistry;
+    private final Timer appliedDelay;
+    private final Counter deadLettered;
+    private final long delayMillis;
+    private final long retryDelayMillis;
+    private final int maxAttempts;
+    private final int batchSize;
+    private final long batchMaxWaitNanos;
+    private final DelayQueue<PendingNotification> queue = new DelayQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final KeyOrderedExecutor workers;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public NotificationScheduler(NotificationProcessor notificationProcessor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${kafka.delay.millis:120000}") long delayMillis,
+                                 @Value("${notification.workers:4}") int workers,
+                                 @Value("${notification.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${notification.retry.delay.millis:5000}") long retryDelayMillis,
+                                 @Value("${notification.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${notification.batch.size:100}") int batchSize,
+                                 @Value("${notification.batch.max-wait-millis:500}") long batchMaxWaitMillis,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.notificationProcessor = notificationProcessor;
+        this.meterRegistry = meterRegistry;
+        this.delayMillis = delayMillis;
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(batchMaxWaitMillis);
+        this.workers = new KeyOrderedExecutor(workers, queueCapacity,
+                virtualThreads
+                        ? Thread.ofVirtual().name("notification-worker-", 0).factory()
+                        : new CustomizableThreadFactory("notification-worker-"));
+        this.dispatcher = new Thread(this::dispatchLoop, "notification-dispatcher");
+        this.dispatcher.setDaemon(true);
+
+        this.appliedDelay = Timer.builder("notification.delay.applied")
+                .description("Time from registration creation to the first notification attempt")
+                .register(meterRegistry);
+        TimeGauge.builder("notification.delay.configured", this, TimeUnit.MILLISECONDS, s -> s.delayMillis)
+                .description("Configured kafka.delay.millis")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("notification.dead-lettered")
+                .description("Notifications given up after their last attempt")
+                .register(meterRegistry);
+        Gauge.builder("notification.pending", queue, DelayQueue::size)
+                .description("Consumed events waiting for their delay or a retry")
+                .register(meterRegistry);
+        Gauge.builder("notification.in-flight", inFlight, AtomicInteger::get)
+                .description("Consumed events not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    public void schedule(RegistrationCreatedEvent event, Acknowledgment acknowledgment) {
+        long elapsed = Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis();
+        inFlight.incrementAndGet();
+        queue.put(new PendingNotification(event, acknowledgment, Math.max(0, delayMillis - elapsed)));
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    /** Events handed to {@link #schedule} whose offset has not been acknowledged yet. */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                dispatch(nextBatch());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RejectedExecutionException e) {
+                // Only thrown once shutdown was requested; see submit
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<PendingNotification> batch) {
+        int laneCount = workers.laneCount();
+        if (laneCount == 1) {
+            submit(0, batch);
+            return;
+        }
+        List<List<PendingNotification>> byLane = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (PendingNotification notification : batch) {
+            byLane.get(workers.laneFor(notification.getEvent().getRegistrationId())).add(notification);
+        }
+        for (int lane = 0; lane < laneCount; lane++) {
+            List<PendingNotification> laneBatch = byLane.get(lane);
+            if (!laneBatch.isEmpty()) {
+                submit(lane, laneBatch);
+            }
+        }
+    }
+
+    // A lane that rejects a batch while the scheduler is running must not stop the dispatcher: the batch is
+    // put back and dispatched again after the retry delay, without counting as an attempt.
+    private void submit(int lane, List<PendingNotification> batch) {
+        try {
+            workers.execute(lane, () -> process(batch));
+        } catch (RejectedExecutionException e) {
+            if (!running) {
+                throw e;
+            }
+            logger.error("Notification lane {} rejected a batch of {} events, re-queued", lane, batch.size(), e);
+            batch.forEach(notification -> queue.put(notification.postpone(retryDelayMillis)));
+        }
+    }
+
+    private List<PendingNotification> nextBatch() throws InterruptedException {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        batch.add(queue.take());
+        queue.drainTo(batch, batchSize - 1);
+
+        long deadline = System.nanoTime() + batchMaxWaitNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingNotification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+        return batch;
+    }
+
+    private void process(List<PendingNotification> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingNotification notification : batch) {
+            if (notification.getAttempts() == 1) {
+                appliedDelay.record(Duration.between(notification.getEvent().getCreatedAt(), now));
+            }
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            notificationProcessor.process(batch.stream().map(PendingNotification::getEvent).toList());
+            batch.forEach(this::complete);
+        } catch (NotificationDeliveryException e) {
+            outcome = "partial";
+            Set<RegistrationCreatedEvent> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+            failed.addAll(e.getFailed());
+            List<PendingNotification> undelivered = new ArrayList<>(failed.size());
+            for (PendingNotification notification : batch) {
+                if (failed.contains(notification.getEvent())) {
+                    undelivered.add(notification);
+                } else {
+                    complete(notification);
+                }
+            }
+            retryOrGiveUp(undelivered);
+        } catch (Exception e) {
+            outcome = "failure";
+            logger.warn("Notification batch of {} events failed", batch.size(), e);
+            retryOrGiveUp(batch);
+        } finally {
+            sample.stop(meterRegistry.timer("notification.batch", "outcome", outcome));
+        }
+    }
+
+    // An exhausted event is acknowledged only once its row is marked NOTIFICATION_FAILED; if that update
+    // fails too, the event goes round again instead of leaving the row PROCESSING with its offset committed.
+    private void retryOrGiveUp(List<PendingNotification> failed) {
+        List<PendingNotification> exhausted = new ArrayList<>();
+        for (PendingNotification notification : failed) {
+            if (notification.getAttempts() < maxAttempts) {
+                queue.put(notification.retryAfter(retryDelayMillis));
+            } else {
+                exhausted.add(notification);
+            }
+        }
+        if (exhausted.isEmpty()) {
+            return;
+        }
+        try {
+            notificationProcessor.markFailed(exhausted.stream().map(PendingNotification::getEvent).toList());
+        } catch (Exception e) {
+            logger.warn("Could not mark {} exhausted notifications as failed, retrying", exhausted.size(), e);
+            exhausted.forEach(notification -> queue.put(notification.retryAfter(retryDelayMillis)));
+            return;
+        }
+        for (PendingNotification notification : exhausted) {
+            logger.error("Notification for registration ID {} failed after {} attempts, marked NOTIFICATION_FAILED",
+                    notification.getEvent().getRegistrationId(), notification.getAttempts());
+            complete(notification);
+        }
+        deadLettered.increment(exhausted.size());
+    }
+
+    private void complete(PendingNotification notification) {
+        notification.acknowledge();
+        inFlight.decrementAndGet();
+    }
+}
@@ -0,0 +1,21 @@
+package com.itau.registration.adapter.out.notification;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class NotificationTopicConfig {
+
+    // KafkaAdmin creates the topic when missing and adds partitions when it has fewer than configured
+    @Bean
+    public NewTopic notificationsTopic(@Value("${notification.topic.partitions:12}") int partitions,
+                                       @Value("${notification.topic.replicas:1}") int replicas) {
+        return TopicBuilder.name("notifications")
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+}
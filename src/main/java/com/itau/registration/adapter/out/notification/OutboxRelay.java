@@ -0,0 +1,121 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.persistence.OutboxEventRepository;
+import com.itau.registration.domain.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code outbox_event} to the notifications topic. A batch is leased in a short transaction that
+ * commits before anything is sent, so no connection or row lock is held while waiting for the broker. All
+ * rows of the batch are sent without waiting (so the producer can pipeline them), then, in a second short
+ * transaction, rows are deleted in id order up to the first failed send; the failed row and everything
+ * after it are released for the next run. If the relay dies mid-batch, its rows are sent again once the
+ * lease expires.
+ * <p>
+ * A batch waits for its sends as long as the publisher can keep retrying them: every attempt may take the
+ * producer's {@code delivery.timeout.ms} and attempt n is followed by a backoff of n times
+ * {@code notification.publish.retry.backoff.millis}. Giving up earlier would leave a send in flight whose
+ * row is relayed again by the next run. The lease is twice that wait, so it outlives the sends.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final long SEND_TIMEOUT_MARGIN_MILLIS = 1000;
+
+    Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaNotificationPublisher notificationPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+    private final long leaseMillis;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaNotificationPublisher notificationPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${spring.kafka.producer.properties.delivery.timeout.ms:120000}") long deliveryTimeoutMillis,
+                       @Value("${notification.publish.retry.max-attempts:3}") int publishMaxAttempts,
+                       @Value("${notification.publish.retry.backoff.millis:200}") long publishBackoffMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis(deliveryTimeoutMillis, publishMaxAttempts, publishBackoffMillis);
+        this.leaseMillis = 2 * sendTimeoutMillis;
+    }
+
+    // With the shipped producer and publisher settings: 15 s x 3 attempts + (200 + 400) ms backoff + 1 s = 46.6 s
+    static long sendTimeoutMillis(long deliveryTimeoutMillis, int publishMaxAttempts, long publishBackoffMillis) {
+        long attempts = Math.max(1, publishMaxAttempts);
+        long backoffs = publishBackoffMillis * attempts * (attempts - 1) / 2;
+        return deliveryTimeoutMillis * attempts + backoffs + SEND_TIMEOUT_MARGIN_MILLIS;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval.millis:200}")
+    public void relay() {
+        boolean fullBatchSent = true;
+        while (fullBatchSent) {
+            fullBatchSent = relayBatch();
+        }
+    }
+
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> outboxEventRepository.leaseNextBatch(batchSize, leaseMillis));
+        if (batch == null || batch.isEmpty()) {
+            return false;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(notificationPublisher.publishRegistrationCreatedEvent(
+                    event.getRegistrationId(), event.getEmail(), event.getRegistrationCreatedAt(), event.getCorrelationId()));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        List<Long> sent = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!awaitSent(sends.get(i), batch.get(i), deadline)) {
+                break;
+            }
+            sent.add(batch.get(i).getId());
+        }
+
+        List<Long> unsent = batch.subList(sent.size(), batch.size()).stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(sent);
+            }
+            outboxEventRepository.releaseLease(unsent);
+        });
+        return sent.size() == batchSize;
+    }
+
+    private boolean awaitSent(CompletableFuture<?> send, OutboxEvent event, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Failed to relay outbox event {} for registration ID {}, will retry",
+                    event.getId(), event.getRegistrationId(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import lombok.Getter;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+class PendingNotification implements Delayed {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final RegistrationCreatedEvent event;
+    private final Acknowledgment acknowledgment;
+    private final long dueAtNanos;
+    private final int attempts;
+    // Breaks ties between equal due times so events with the same due time leave the queue in arrival order
+    private final long sequence = SEQUENCE.getAndIncrement();
+
+    PendingNotification(RegistrationCreatedEvent event, Acknowledgment acknowledgment, long delayMillis) {
+        this(event, acknowledgment, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis), 1);
+    }
+
+    private PendingNotification(RegistrationCreatedEvent event, Acknowledgment acknowledgment, long dueAtNanos, int attempts) {
+        this.event = event;
+        this.acknowledgment = acknowledgment;
+        this.dueAtNanos = dueAtNanos;
+        this.attempts = attempts;
+    }
+
+    PendingNotification retryAfter(long delayMillis) {
+        return new PendingNotification(event, acknowledgment,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis), attempts + 1);
+    }
+
+    // Same attempt, later: for a batch that could not be handed to a worker
+    PendingNotification postpone(long delayMillis) {
+        return new PendingNotification(event, acknowledgment,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis), attempts);
+    }
+
+    void acknowledge() {
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof PendingNotification pending) {
+            int byDueTime = Long.compare(dueAtNanos, pending.dueAtNanos);
+            return byDueTime != 0 ? byDueTime : Long.compare(sequence, pending.sequence);
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,51 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Bounded set of registration ids whose notification was recently committed as sent, so redelivered
+ * records can be acknowledged without scheduling them again. Entries are only a shortcut: an id that has
+ * been evicted is still rejected by the conditional status update in {@link NotificationProcessor}.
+ */
+@Component
+public class ProcessedNotifications {
+
+    private final Cache<Long, Boolean> processed;
+
+    public ProcessedNotifications(@Value("${notification.dedup.maximum-size:100000}") long maximumSize,
+                                  @Value("${notification.dedup.ttl.minutes:60}") long ttlMinutes) {
+        this.processed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public boolean contains(Long registrationId) {
+        return registrationId != null && processed.getIfPresent(registrationId) != null;
+    }
+
+    public void addAll(Collection<Long> registrationIds) {
+        if (registrationIds.isEmpty()) {
+            return;
+        }
+        // Only remembered once the PROCESSED status is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrationIds.forEach(id -> processed.put(id, Boolean.TRUE));
+                }
+            });
+        } else {
+            registrationIds.forEach(id -> processed.put(id, Boolean.TRUE));
+        }
+    }
+}
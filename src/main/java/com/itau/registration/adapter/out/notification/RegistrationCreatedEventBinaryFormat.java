@@ -0,0 +1,79 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Fixed binary layout of {@link RegistrationCreatedEvent}, big-endian:
+ * <pre>
+ * version (1) = 0x01 | presence flags (1) | registrationId (8) | createdAt epoch second (8) + nano (4)
+ *   | email length (2, unsigned) | email UTF-8 bytes
+ * </pre>
+ * createdAt is a LocalDateTime and is stored as if it were UTC, so it round-trips unchanged.
+ */
+final class RegistrationCreatedEventBinaryFormat {
+
+    static final byte VERSION_1 = 0x01;
+
+    private static final int HAS_REGISTRATION_ID = 1;
+    private static final int HAS_EMAIL = 1 << 1;
+    private static final int HAS_CREATED_AT = 1 << 2;
+    private static final int HEADER_SIZE = 1 + 1 + 8 + 8 + 4 + 2;
+    private static final int MAX_EMAIL_BYTES = 0xFFFF;
+
+    private RegistrationCreatedEventBinaryFormat() {
+    }
+
+    static byte[] encode(RegistrationCreatedEvent event) {
+        byte[] email = event.getEmail() != null ? event.getEmail().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (email.length > MAX_EMAIL_BYTES) {
+            throw new SerializationException("Email too long to serialize: " + email.length + " bytes");
+        }
+        LocalDateTime createdAt = event.getCreatedAt();
+        int flags = (event.getRegistrationId() != null ? HAS_REGISTRATION_ID : 0)
+                | (event.getEmail() != null ? HAS_EMAIL : 0)
+                | (createdAt != null ? HAS_CREATED_AT : 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + email.length);
+        buffer.put(VERSION_1);
+        buffer.put((byte) flags);
+        buffer.putLong(event.getRegistrationId() != null ? event.getRegistrationId() : 0L);
+        buffer.putLong(createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : 0L);
+        buffer.putInt(createdAt != null ? createdAt.getNano() : 0);
+        buffer.putShort((short) email.length);
+        buffer.put(email);
+        return buffer.array();
+    }
+
+    static RegistrationCreatedEvent decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            byte version = buffer.get();
+            if (version != VERSION_1) {
+                throw new SerializationException("Unsupported RegistrationCreatedEvent format version " + version);
+            }
+            int flags = buffer.get();
+            long registrationId = buffer.getLong();
+            long epochSecond = buffer.getLong();
+            int nano = buffer.getInt();
+            int emailLength = Short.toUnsignedInt(buffer.getShort());
+            String email = new String(data, buffer.position(), emailLength, StandardCharsets.UTF_8);
+            if (buffer.remaining() != emailLength) {
+                throw new SerializationException("Malformed RegistrationCreatedEvent record");
+            }
+
+            return new RegistrationCreatedEvent(
+                    (flags & HAS_REGISTRATION_ID) != 0 ? registrationId : null,
+                    (flags & HAS_EMAIL) != 0 ? email : null,
+                    (flags & HAS_CREATED_AT) != 0 ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC) : null);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated RegistrationCreatedEvent record", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Reads both the binary format and the JSON written before it: a JSON object starts with '{', which
+ * is never a valid format version. Type headers on JSON records are ignored; the target type is fixed.
+ */
+public class RegistrationCreatedEventDeserializer implements Deserializer<RegistrationCreatedEvent> {
+
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Override
+    public RegistrationCreatedEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == JSON_OBJECT_START) {
+            try {
+                return objectMapper.readValue(data, RegistrationCreatedEvent.class);
+            } catch (IOException e) {
+                throw new SerializationException("Malformed JSON RegistrationCreatedEvent record", e);
+            }
+        }
+        return RegistrationCreatedEventBinaryFormat.decode(data);
+    }
+
+    @Override
+    public RegistrationCreatedEvent deserialize(String topic, Headers headers, byte[] data) {
+        return deserialize(topic, data);
+    }
+}
@@ -0,0 +1,51 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Writes {@link RegistrationCreatedEventBinaryFormat} records, or Spring's JSON (with type headers) when
+ * {@code notification.serialization.format=json}, for rolling out to consumers that only read JSON.
+ */
+public class RegistrationCreatedEventSerializer implements Serializer<RegistrationCreatedEvent> {
+
+    static final String FORMAT_CONFIG = "notification.serialization.format";
+
+    private JsonSerializer<RegistrationCreatedEvent> jsonSerializer;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        if (format != null && "json".equalsIgnoreCase(format.toString().trim())) {
+            jsonSerializer = new JsonSerializer<>();
+            jsonSerializer.configure(configs, isKey);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, RegistrationCreatedEvent data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, RegistrationCreatedEvent data) {
+        if (data == null) {
+            return null;
+        }
+        if (jsonSerializer != null) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+        return RegistrationCreatedEventBinaryFormat.encode(data);
+    }
+
+    @Override
+    public void close() {
+        if (jsonSerializer != null) {
+            jsonSerializer.close();
+        }
+    }
+}
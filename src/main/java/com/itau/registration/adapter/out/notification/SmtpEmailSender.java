@@ -0,0 +1,137 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends over a pool of up to {@code notification.email.smtp.pool-size} connected SMTP transports,
+ * configured through the standard {@code spring.mail.*} properties. A session borrows one transport and
+ * sends all its messages over that connection (one MAIL/RCPT/DATA exchange per message, no reconnect),
+ * then returns it to the pool. Broken connections are closed and replaced on the next borrow.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.email.sender", havingValue = "smtp")
+public class SmtpEmailSender implements EmailSender {
+
+    Logger logger = LoggerFactory.getLogger(SmtpEmailSender.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final InternetAddress from;
+    private final Semaphore connections;
+    private final BlockingQueue<Transport> idle;
+
+    public SmtpEmailSender(JavaMailSenderImpl mailSender,
+                           @Value("${notification.email.from:no-reply@registration.local}") String from,
+                           @Value("${notification.email.smtp.pool-size:8}") int poolSize) throws MessagingException {
+        this.mailSender = mailSender;
+        this.from = new InternetAddress(from);
+        this.connections = new Semaphore(poolSize);
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    @Override
+    public Session openSession() {
+        connections.acquireUninterruptibly();
+        return new SmtpSession(idle.poll());
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private MimeMessage buildMessage(RegistrationCreatedEvent event) throws MessagingException {
+        MimeMessage message = new MimeMessage(mailSender.getSession());
+        message.setFrom(from);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(event.getEmail()));
+        message.setSubject("Registration received");
+        message.setText("Your registration " + event.getRegistrationId() + " has been received and approved.", "UTF-8");
+        message.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Failed to close SMTP transport", e);
+        }
+    }
+
+    private class SmtpSession implements Session {
+
+        private Transport transport;
+
+        private SmtpSession(Transport transport) {
+            this.transport = transport;
+        }
+
+        @Override
+        public void send(RegistrationCreatedEvent event) throws EmailDeliveryException {
+            MimeMessage message;
+            try {
+                message = buildMessage(event);
+            } catch (MessagingException e) {
+                throw new EmailDeliveryException("Invalid notification for registration " + event.getRegistrationId(), e);
+            }
+            try {
+                if (transport == null || !transport.isConnected()) {
+                    discardTransport();
+                    transport = connect();
+                }
+                Address[] recipients = message.getAllRecipients();
+                transport.sendMessage(message, recipients);
+            } catch (MessagingException e) {
+                discardTransport();
+                throw new EmailDeliveryException("Failed to send notification for registration " + event.getRegistrationId(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (transport != null && transport.isConnected() && idle.offer(transport)) {
+                    transport = null;
+                } else {
+                    discardTransport();
+                }
+            } finally {
+                connections.release();
+            }
+        }
+
+        private void discardTransport() {
+            if (transport != null) {
+                closeQuietly(transport);
+                transport = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.itau.registration.adapter.out.persistence;
+
+import com.itau.registration.domain.model.OutboxEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventJdbcRepository {
+
+    void insertAll(List<OutboxEvent> events);
+
+    /**
+     * Leases up to {@code limit} outbox events, oldest first, for {@code leaseMillis} and returns them in id
+     * order. Events leased by another relay are skipped until their lease expires, so the caller can send
+     * them after the lease has committed without holding row locks.
+     */
+    List<OutboxEvent> leaseNextBatch(int limit, long leaseMillis);
+
+    /** Ends the lease of events that were not sent, so the next run picks them up again. */
+    void releaseLease(Collection<Long> ids);
+}
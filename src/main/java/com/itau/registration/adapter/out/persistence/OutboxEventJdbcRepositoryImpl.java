@@ -0,0 +1,70 @@
+package com.itau.registration.adapter.out.persistence;
+
+import com.itau.registration.domain.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxEventJdbcRepositoryImpl implements OutboxEventJdbcRepository {
+
+    private static final String INSERT =
+            "insert into outbox_event (registration_id, email, registration_created_at, created_at, correlation_id) " +
+            "values (?, ?, ?, ?, ?)";
+
+    // SKIP LOCKED lets several service instances lease batches at the same time without handing out the same rows
+    private static final String LEASE_NEXT_BATCH =
+            "update outbox_event set leased_until = now() + ? * interval '1 millisecond' " +
+            "where id in (select id from outbox_event where leased_until is null or leased_until < now() " +
+            "order by id limit ? for update skip locked) " +
+            "returning id, registration_id, email, registration_created_at, created_at, correlation_id, leased_until";
+
+    private static final String RELEASE_LEASE = "update outbox_event set leased_until = null where id = any(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getRegistrationId());
+            ps.setString(2, event.getEmail());
+            ps.setTimestamp(3, RegistrationJdbcRepositoryImpl.toTimestamp(event.getRegistrationCreatedAt()));
+            ps.setTimestamp(4, RegistrationJdbcRepositoryImpl.toTimestamp(event.getCreatedAt()));
+            ps.setString(5, event.getCorrelationId());
+        });
+    }
+
+    @Override
+    public List<OutboxEvent> leaseNextBatch(int limit, long leaseMillis) {
+        List<OutboxEvent> leased = jdbcTemplate.query(LEASE_NEXT_BATCH, (rs, rowNum) -> OutboxEvent.builder()
+                .id(rs.getLong("id"))
+                .registrationId(rs.getLong("registration_id"))
+                .email(rs.getString("email"))
+                .registrationCreatedAt(rs.getTimestamp("registration_created_at").toLocalDateTime())
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .correlationId(rs.getString("correlation_id"))
+                .leasedUntil(rs.getTimestamp("leased_until").toLocalDateTime())
+                .build(), leaseMillis, limit);
+        // returning does not keep the order of the subquery
+        return leased.stream().sorted(Comparator.comparing(OutboxEvent::getId)).toList();
+    }
+
+    @Override
+    public void releaseLease(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RELEASE_LEASE);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+}
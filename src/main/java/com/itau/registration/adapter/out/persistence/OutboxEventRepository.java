@@ -0,0 +1,9 @@
+package com.itau.registration.adapter.out.persistence;
+
+import com.itau.registration.domain.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventJdbcRepository {
+}
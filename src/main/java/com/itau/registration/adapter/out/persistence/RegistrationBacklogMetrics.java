@@ -0,0 +1,43 @@
+package com.itau.registration.adapter.out.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the number of registrations still waiting for their notification as the
+ * {@code registration.backlog} gauge. The count is refreshed on a schedule rather than on every
+ * scrape so Prometheus never drives database load.
+ */
+@Component
+public class RegistrationBacklogMetrics {
+
+    Logger logger = LoggerFactory.getLogger(RegistrationBacklogMetrics.class);
+
+    static final String PROCESSING = "PROCESSING";
+
+    private final RegistrationRepository registrationRepository;
+    private final AtomicLong processing = new AtomicLong();
+
+    public RegistrationBacklogMetrics(RegistrationRepository registrationRepository, MeterRegistry meterRegistry) {
+        this.registrationRepository = registrationRepository;
+        Gauge.builder("registration.backlog", processing, AtomicLong::get)
+                .description("Registrations whose notification has not been processed yet")
+                .tag("status", PROCESSING)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${registration.metrics.backlog.refresh.millis:15000}")
+    public void refresh() {
+        try {
+            processing.set(registrationRepository.countByStatus(PROCESSING));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh the registration backlog gauge", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.itau.registration.adapter.out.persistence;
+
+/**
+ * Number of registrations with the given value of one dimension ({@code status}, {@code countryCode} or
+ * {@code age}). The {@code total} dimension has a null value. Null values of the other dimensions are
+ * counted too.
+ */
+public record RegistrationCount(String dimension, String value, long count) {
+
+    public static final String TOTAL = "total";
+    public static final String STATUS = "status";
+    public static final String COUNTRY_CODE = "countryCode";
+    public static final String AGE = "age";
+}
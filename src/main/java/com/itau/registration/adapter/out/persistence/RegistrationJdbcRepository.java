@@ -0,0 +1,92 @@
+package com.itau.registration.adapter.out.persistence;
+
+import com.itau.registration.application.dto.RegistrationRequest;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.domain.model.Registration;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface RegistrationJdbcRepository {
+
+    void streamAll(int fetchSize, Consumer<Registration> consumer);
+
+    void streamEmails(int fetchSize, Consumer<String> consumer);
+
+    /**
+     * Assigns ids to the given registrations and inserts them in one JDBC batch, skipping rows that
+     * violate a unique constraint or reuse an archived email. Returns the update count per registration
+     * (1 inserted, 0 skipped).
+     */
+    int[] insertIgnoringDuplicates(List<Registration> registrations);
+
+    /**
+     * Returns up to {@code limit} registrations matching the criteria, ordered by (createdAt, id) and
+     * starting after the given position when one is set. Callers must filter on at least one indexed
+     * column (email, status or countryCode).
+     */
+    List<Registration> search(RegistrationSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Writes only the non-null fields of {@code changes}, bumps the version and returns the updated row
+     * with its previous age and country code, in one statement. Returns empty when no registration has
+     * the id or, if {@code expectedVersion} is set, when its version differs.
+     */
+    Optional<RegistrationUpdate> updateNonNullFields(Long id, RegistrationRequest changes, Long expectedVersion, LocalDateTime updatedAt);
+
+    /**
+     * Deletes the registration and returns the deleted row, or empty when no registration has the id.
+     */
+    Optional<Registration> deleteRegistrationById(Long id);
+
+    /**
+     * Flips the given registrations from PROCESSING to PROCESSED and returns the ids that were flipped;
+     * rows that are not PROCESSING any more are left alone. The flipped rows stay locked until the
+     * surrounding transaction ends, so a concurrent call for the same ids waits and then skips them.
+     */
+    List<Long> markProcessed(Collection<Long> ids, LocalDateTime updatedAt);
+
+    /**
+     * Flips the given registrations from PROCESSING to NOTIFICATION_FAILED, the terminal status of a
+     * notification that ran out of attempts, and returns the ids that were flipped.
+     */
+    List<Long> markNotificationFailed(Collection<Long> ids, LocalDateTime updatedAt);
+
+    /**
+     * Puts the given registrations back from PROCESSED to PROCESSING after their notification could not be
+     * delivered, and returns the ids that were flipped.
+     */
+    List<Long> markUnprocessed(Collection<Long> ids, LocalDateTime updatedAt);
+
+    /**
+     * Locks up to {@code limit} PROCESSED registrations created before the given time, oldest first,
+     * skipping rows locked by another archiver. Must run inside a transaction.
+     */
+    List<Registration> lockArchivable(LocalDateTime createdBefore, int limit);
+
+    /**
+     * Deletes the given registrations from the hot table and records, in the same statement, the month
+     * of the archive file each one was written to.
+     */
+    int moveToArchive(Collection<Long> ids);
+
+    Optional<LocalDate> findArchiveMonth(Long id);
+
+    /**
+     * Deletes the archive entry of the id and returns the month whose files hold the record, or empty when
+     * the id is not archived.
+     */
+    Optional<LocalDate> deleteArchiveEntry(Long id);
+
+    /**
+     * Counts the registrations in the table in one scan: the total and the counts per status, country code
+     * and age. Archived registrations are counted by {@link #countArchived()}.
+     */
+    List<RegistrationCount> countByDimension();
+
+    long countArchived();
+}
@@ -0,0 +1,345 @@
+package com.itau.registration.adapter.out.persistence;
+
+import com.itau.registration.application.dto.RegistrationRequest;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.domain.model.Registration;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class RegistrationJdbcRepositoryImpl implements RegistrationJdbcRepository {
+
+    private static final String COLUMNS =
+            "id, first_name, last_name, email, age, country_code, status, created_at, updated_at, version";
+
+    private static final String SELECT_COLUMNS = "select " + COLUMNS + " from registration";
+
+    private static final String UPDATE_RETURNING_COLUMNS =
+            "r.id, r.first_name, r.last_name, r.email, r.age, r.country_code, r.status, r.created_at, r.updated_at, r.version, " +
+            "previous.age as previous_age, previous.country_code as previous_country_code";
+
+    private static final String DELETE_RETURNING = "delete from registration where id = ? returning " + COLUMNS;
+
+    // grouping() tells which of the grouping sets a row belongs to: 3 = status, 5 = country_code, 6 = age, 7 = total
+    private static final String COUNT_BY_DIMENSION =
+            "select grouping(status, country_code, age) as dimension, status, country_code, age, count(*) " +
+            "from registration group by grouping sets ((status), (country_code), (age), ())";
+
+    private static final String COUNT_ARCHIVED = "select count(*) from registration_archive_entry";
+
+    private static final String SELECT_ALL_ORDER_BY_ID = SELECT_COLUMNS + " order by id";
+
+    private static final String SELECT_ALL_EMAILS =
+            "select email from registration union all select email from registration_archive_entry";
+
+    // Archived emails are not covered by the hot table's unique index
+    private static final String INSERT_IGNORING_DUPLICATES =
+            "insert into registration (id, first_name, last_name, email, age, country_code, status, created_at, updated_at) " +
+            "select ?::bigint, ?, ?, ?, ?::integer, ?, ?, ?::timestamp, ?::timestamp " +
+            "where not exists (select 1 from registration_archive_entry where lower(email) = lower(?)) " +
+            "on conflict do nothing";
+
+    private static final String LOCK_ARCHIVABLE = SELECT_COLUMNS +
+            " where status = 'PROCESSED' and created_at < ? order by created_at, id limit ? for update skip locked";
+
+    private static final String MOVE_TO_ARCHIVE =
+            "with moved as (delete from registration where id = any(?) returning id, email, created_at) " +
+            "insert into registration_archive_entry (id, email, archive_month) " +
+            "select id, email, date_trunc('month', created_at)::date from moved on conflict (id) do nothing";
+
+    private static final String SELECT_ARCHIVE_MONTH = "select archive_month from registration_archive_entry where id = ?";
+
+    private static final String DELETE_ARCHIVE_ENTRY =
+            "delete from registration_archive_entry where id = ? returning archive_month";
+
+    private static final String MARK_PROCESSED =
+            "update registration set status = 'PROCESSED', updated_at = ? " +
+            "where id = any(?) and status = 'PROCESSING' returning id";
+
+    private static final String MARK_NOTIFICATION_FAILED =
+            "update registration set status = 'NOTIFICATION_FAILED', updated_at = ? " +
+            "where id = any(?) and status = 'PROCESSING' returning id";
+
+    private static final String MARK_UNPROCESSED =
+            "update registration set status = 'PROCESSING', updated_at = ? " +
+            "where id = any(?) and status = 'PROCESSED' returning id";
+
+    private static final String NEXT_ID_BLOCKS = "select nextval('registration_seq') from generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Must run inside a transaction: the Postgres driver only honours the fetch size (and keeps
+    // a server-side cursor instead of buffering the whole result) when auto-commit is off.
+    @Override
+    public void streamAll(int fetchSize, Consumer<Registration> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ALL_ORDER_BY_ID, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    // Same transaction requirement as streamAll
+    @Override
+    public void streamEmails(int fetchSize, Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ALL_EMAILS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    // Relies on per-statement update counts, so the driver must not be run with reWriteBatchedInserts=true
+    // (it reports SUCCESS_NO_INFO for rewritten batches).
+    @Override
+    public int[] insertIgnoringDuplicates(List<Registration> registrations) {
+        if (registrations.isEmpty()) {
+            return new int[0];
+        }
+        List<Long> ids = allocateIds(registrations.size());
+        for (int i = 0; i < registrations.size(); i++) {
+            registrations.get(i).setId(ids.get(i));
+        }
+
+        return jdbcTemplate.batchUpdate(INSERT_IGNORING_DUPLICATES, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Registration registration = registrations.get(i);
+                ps.setLong(1, registration.getId());
+                ps.setString(2, registration.getFirstName());
+                ps.setString(3, registration.getLastName());
+                ps.setString(4, registration.getEmail());
+                ps.setObject(5, registration.getAge(), Types.INTEGER);
+                ps.setString(6, registration.getCountryCode());
+                ps.setString(7, registration.getStatus());
+                ps.setTimestamp(8, toTimestamp(registration.getCreatedAt()));
+                ps.setTimestamp(9, toTimestamp(registration.getUpdatedAt()));
+                ps.setString(10, registration.getEmail());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return registrations.size();
+            }
+        });
+    }
+
+    // Each filter is written to match an index in db/schema.sql: lower(email) (text_pattern_ops, so the
+    // prefix LIKE can use it), (status, created_at, id) and (country_code, created_at, id).
+    @Override
+    public List<Registration> search(RegistrationSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(" where true");
+        List<Object> args = new ArrayList<>();
+
+        if (StringUtils.isNotBlank(criteria.getEmail())) {
+            sql.append(" and lower(email) = lower(?)");
+            args.add(criteria.getEmail().trim());
+        }
+        if (StringUtils.isNotBlank(criteria.getEmailPrefix())) {
+            sql.append(" and lower(email) like lower(?) escape '\\'");
+            args.add(escapeLike(criteria.getEmailPrefix().trim()) + "%");
+        }
+        if (StringUtils.isNotBlank(criteria.getStatus())) {
+            sql.append(" and status = ?");
+            args.add(criteria.getStatus().trim().toUpperCase(Locale.ROOT));
+        }
+        if (StringUtils.isNotBlank(criteria.getCountryCode())) {
+            sql.append(" and country_code = ?");
+            args.add(criteria.getCountryCode().trim().toUpperCase(Locale.ROOT));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            sql.append(" and created_at >= ?");
+            args.add(toTimestamp(criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            sql.append(" and created_at < ?");
+            args.add(toTimestamp(criteria.getCreatedTo()));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            sql.append(" and (created_at, id) > (?, ?)");
+            args.add(toTimestamp(afterCreatedAt));
+            args.add(afterId);
+        }
+        sql.append(" order by created_at, id limit ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    // The locked sub-select reads the row as it was before the update; FOR UPDATE re-checks the version
+    // against the latest committed row when it had to wait for a concurrent update.
+    @Override
+    public Optional<RegistrationUpdate> updateNonNullFields(Long id, RegistrationRequest changes, Long expectedVersion, LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("update registration r set updated_at = ?, version = r.version + 1");
+        List<Object> args = new ArrayList<>();
+        args.add(toTimestamp(updatedAt));
+
+        setIfPresent(sql, args, "first_name", changes.getFirstName());
+        setIfPresent(sql, args, "last_name", changes.getLastName());
+        setIfPresent(sql, args, "email", changes.getEmail());
+        setIfPresent(sql, args, "age", changes.getAge());
+        setIfPresent(sql, args, "country_code", changes.getCountryCode());
+
+        sql.append(" from (select id, age, country_code from registration where id = ?");
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" and version = ?");
+            args.add(expectedVersion);
+        }
+        sql.append(" for update) previous where r.id = previous.id returning ").append(UPDATE_RETURNING_COLUMNS);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new RegistrationUpdate(mapRow(rs),
+                rs.getObject("previous_age", Integer.class), rs.getString("previous_country_code")), args.toArray())
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<Registration> deleteRegistrationById(Long id) {
+        return jdbcTemplate.query(DELETE_RETURNING, (rs, rowNum) -> mapRow(rs), id).stream().findFirst();
+    }
+
+    private static void setIfPresent(StringBuilder sql, List<Object> args, String column, Object value) {
+        if (value != null) {
+            sql.append(", ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+
+    // Served by the (status, created_at, id) index
+    @Override
+    public List<Registration> lockArchivable(LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.query(LOCK_ARCHIVABLE, (rs, rowNum) -> mapRow(rs), toTimestamp(createdBefore), limit);
+    }
+
+    @Override
+    public int moveToArchive(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MOVE_TO_ARCHIVE);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    public Optional<LocalDate> findArchiveMonth(Long id) {
+        return jdbcTemplate.query(SELECT_ARCHIVE_MONTH, (rs, rowNum) -> rs.getObject(1, LocalDate.class), id)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<LocalDate> deleteArchiveEntry(Long id) {
+        return jdbcTemplate.query(DELETE_ARCHIVE_ENTRY, (rs, rowNum) -> rs.getObject(1, LocalDate.class), id)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<RegistrationCount> countByDimension() {
+        return jdbcTemplate.query(COUNT_BY_DIMENSION, (rs, rowNum) -> {
+            long count = rs.getLong(5);
+            return switch (rs.getInt("dimension")) {
+                case 3 -> new RegistrationCount(RegistrationCount.STATUS, rs.getString("status"), count);
+                case 5 -> new RegistrationCount(RegistrationCount.COUNTRY_CODE, rs.getString("country_code"), count);
+                case 6 -> {
+                    Integer age = rs.getObject("age", Integer.class);
+                    yield new RegistrationCount(RegistrationCount.AGE, age != null ? age.toString() : null, count);
+                }
+                default -> new RegistrationCount(RegistrationCount.TOTAL, null, count);
+            };
+        });
+    }
+
+    @Override
+    public long countArchived() {
+        Long count = jdbcTemplate.queryForObject(COUNT_ARCHIVED, Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public List<Long> markProcessed(Collection<Long> ids, LocalDateTime updatedAt) {
+        return updateProcessing(MARK_PROCESSED, ids, updatedAt);
+    }
+
+    @Override
+    public List<Long> markNotificationFailed(Collection<Long> ids, LocalDateTime updatedAt) {
+        return updateProcessing(MARK_NOTIFICATION_FAILED, ids, updatedAt);
+    }
+
+    @Override
+    public List<Long> markUnprocessed(Collection<Long> ids, LocalDateTime updatedAt) {
+        return updateProcessing(MARK_UNPROCESSED, ids, updatedAt);
+    }
+
+    private List<Long> updateProcessing(String sql, Collection<Long> ids, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setTimestamp(1, toTimestamp(updatedAt));
+            statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private List<Long> allocateIds(int count) {
+        int blocks = (count + Registration.ID_ALLOCATION_SIZE - 1) / Registration.ID_ALLOCATION_SIZE;
+        List<Long> lows = jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Long low : lows) {
+            for (int offset = 0; offset < Registration.ID_ALLOCATION_SIZE && ids.size() < count; offset++) {
+                ids.add(low + offset);
+            }
+        }
+        return ids;
+    }
+
+    static Registration mapRow(ResultSet rs) throws SQLException {
+        return Registration.builder()
+                .id(rs.getLong("id"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .email(rs.getString("email"))
+                .age(rs.getObject("age", Integer.class))
+                .countryCode(rs.getString("country_code"))
+                .status(rs.getString("status"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -1,9 +1,38 @@
 package com.itau.registration.adapter.out.persistence;
 
+import com.itau.registration.application.dto.RegistrationResponse;
 import com.itau.registration.domain.model.Registration;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+public interface RegistrationRepository extends JpaRepository<Registration, Long>, RegistrationJdbcRepository {
+
+    // Read paths select straight into the response: no managed entity, no dirty-checking snapshot, no copy.
+    String RESPONSE_COLUMNS = "r.id, r.firstName, r.lastName, r.email, r.age, r.countryCode, r.createdAt, r.updatedAt, r.version";
+
+    @Query("select new com.itau.registration.application.dto.RegistrationResponse(" + RESPONSE_COLUMNS
+            + ", 'Registration retrieved.') from Registration r where r.id = :id")
+    Optional<RegistrationResponse> findResponseById(@Param("id") Long id);
+
+    // The status is the message of list items
+    @Query("select new com.itau.registration.application.dto.RegistrationResponse(" + RESPONSE_COLUMNS
+            + ", r.status) from Registration r where r.id > :id order by r.id")
+    List<RegistrationResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    long countByStatus(String status);
+
+    // lower() on both sides so the lookups use the unique lower(email) indexes; archived emails stay taken
+    @Query(value = "select exists (select 1 from registration where lower(email) = lower(:email)) " +
+            "or exists (select 1 from registration_archive_entry where lower(email) = lower(:email))", nativeQuery = true)
+    boolean emailExists(@Param("email") String email);
+
+    @Query(value = "select exists (select 1 from registration_archive_entry where lower(email) = lower(:email))", nativeQuery = true)
+    boolean emailArchived(@Param("email") String email);
 }
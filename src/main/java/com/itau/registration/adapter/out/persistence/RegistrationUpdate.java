@@ -0,0 +1,10 @@
+package com.itau.registration.adapter.out.persistence;
+
+import com.itau.registration.domain.model.Registration;
+
+/**
+ * Result of {@link RegistrationJdbcRepository#updateNonNullFields}: the updated row and the age and
+ * country code it had before the update.
+ */
+public record RegistrationUpdate(Registration registration, Integer previousAge, String previousCountryCode) {
+}
@@ -0,0 +1,92 @@
+package com.itau.registration.adapter.out.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets kept as one {@link AtomicLong} per client, holding the time at which the bucket will be
+ * full again (GCRA). A request adds one emission interval to that time with a CAS and is rejected when it
+ * would go more than {@code burst} intervals past now, so the hot path is a map lookup and a CAS, without
+ * locks. A bucket whose time has passed is full and carries no state; those are evicted periodically.
+ * At {@code max-clients} buckets, new clients share a single overflow bucket until the next eviction.
+ */
+@Component
+@ConditionalOnProperty(name = "registration.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final LongSupplier clock;
+    private Counter overflowed;
+
+    public InMemoryRateLimitStore(MeterRegistry meterRegistry,
+                                  @Value("${registration.rate-limit.requests-per-second:20}") double requestsPerSecond,
+                                  @Value("${registration.rate-limit.burst:40}") int burst,
+                                  @Value("${registration.rate-limit.max-clients:100000}") int maxClients) {
+        this(requestsPerSecond, burst, maxClients, System::nanoTime);
+        this.overflowed = meterRegistry.counter("registration.rate-limit.overflow");
+        Gauge.builder("registration.rate-limit.clients", buckets, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    InMemoryRateLimitStore(double requestsPerSecond, int burst, int maxClients, LongSupplier clock) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.maxClients = maxClients;
+        this.clock = clock;
+        this.overflow = new AtomicLong(clock.getAsLong());
+    }
+
+    @Override
+    public long tryAcquire(String clientKey) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = newBucket(clientKey, now);
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + emissionIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A request racing with the eviction of its bucket may update the removed copy; it only loses that one token
+    @Scheduled(fixedDelayString = "${registration.rate-limit.eviction.interval.millis:10000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong newBucket(String clientKey, long now) {
+        if (buckets.size() >= maxClients) {
+            if (overflowed != null) {
+                overflowed.increment();
+            }
+            return overflow;
+        }
+        return buckets.computeIfAbsent(clientKey, key -> new AtomicLong(now));
+    }
+}
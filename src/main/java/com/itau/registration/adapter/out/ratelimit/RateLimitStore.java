@@ -0,0 +1,15 @@
+package com.itau.registration.adapter.out.ratelimit;
+
+/**
+ * Per-client request budget behind the rate limit filter, selected with {@code registration.rate-limit.store}.
+ * The in-memory store limits each instance on its own; a shared store (e.g. Redis) would enforce one
+ * budget across instances.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one request from the client's budget. Returns 0 when the request is allowed, otherwise the
+     * nanoseconds until the client may retry.
+     */
+    long tryAcquire(String clientKey);
+}
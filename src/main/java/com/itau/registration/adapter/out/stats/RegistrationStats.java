@@ -0,0 +1,253 @@
+package com.itau.registration.adapter.out.stats;
+
+import com.itau.registration.adapter.out.persistence.RegistrationCount;
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.application.dto.RegistrationStatsResponse;
+import com.itau.registration.domain.model.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Registration counts by status, country code and age band, kept in memory and moved by the writes of this
+ * instance after they commit, so reading them costs no query. A periodic reconciliation recounts the table
+ * and replaces the counters, which also picks up the writes of other instances and corrects any drift.
+ * The first reconciliation starts when the application is ready; a read that arrives before it has finished
+ * waits for it (or runs it, if it failed) on the request thread.
+ * Writes committed while a reconciliation runs are applied to both the old and the new counters; one that
+ * commits just before the recount starts can be counted twice until the next reconciliation.
+ */
+@Component
+public class RegistrationStats {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    Logger logger = LoggerFactory.getLogger(RegistrationStats.class);
+
+    private final RegistrationRepository registrationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Counters active;
+    private volatile Counters building;
+
+    public RegistrationStats(RegistrationRepository registrationRepository, PlatformTransactionManager transactionManager) {
+        this.registrationRepository = registrationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public RegistrationStatsResponse snapshot() {
+        Counters counters = active;
+        if (counters == null) {
+            counters = awaitFirstReconcile();
+            if (counters == null) {
+                throw new IllegalStateException("Registration stats are not available yet");
+            }
+        }
+        return counters.toResponse();
+    }
+
+    public void created(Registration registration) {
+        afterCommit(counters -> counters.add(registration.getStatus(), registration.getCountryCode(), registration.getAge(), 1));
+    }
+
+    public void deleted(Registration registration) {
+        afterCommit(counters -> counters.add(registration.getStatus(), registration.getCountryCode(), registration.getAge(), -1));
+    }
+
+    public void updated(Registration registration, Integer previousAge, String previousCountryCode) {
+        if (Objects.equals(previousAge, registration.getAge()) && Objects.equals(previousCountryCode, registration.getCountryCode())) {
+            return;
+        }
+        afterCommit(counters -> {
+            counters.byCountryCode.move(previousCountryCode, registration.getCountryCode());
+            counters.byAgeBand.move(ageBand(previousAge), ageBand(registration.getAge()));
+        });
+    }
+
+    public void statusChanged(String from, String to, int count) {
+        if (count == 0) {
+            return;
+        }
+        afterCommit(counters -> {
+            counters.byStatus.add(from, -count);
+            counters.byStatus.add(to, count);
+        });
+    }
+
+    public void archived(Collection<Registration> registrations) {
+        afterCommit(counters -> {
+            for (Registration registration : registrations) {
+                counters.add(registration.getStatus(), registration.getCountryCode(), registration.getAge(), -1);
+            }
+            counters.archived.add(registrations.size());
+        });
+    }
+
+    public void archiveDeleted() {
+        afterCommit(counters -> counters.archived.decrement());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        Thread.ofPlatform().name("registration-stats-warmup").daemon().start(this::reconcile);
+    }
+
+    @Scheduled(initialDelayString = "${registration.stats.reconcile.interval.millis:60000}",
+            fixedDelayString = "${registration.stats.reconcile.interval.millis:60000}")
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        Counters next = new Counters(LocalDateTime.now());
+        building = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (RegistrationCount count : registrationRepository.countByDimension()) {
+                    switch (count.dimension()) {
+                        case RegistrationCount.TOTAL -> next.total.add(count.count());
+                        case RegistrationCount.STATUS -> next.byStatus.add(count.value(), count.count());
+                        case RegistrationCount.COUNTRY_CODE -> next.byCountryCode.add(count.value(), count.count());
+                        case RegistrationCount.AGE -> next.byAgeBand.add(
+                                ageBand(count.value() != null ? Integer.valueOf(count.value()) : null), count.count());
+                        default -> throw new IllegalStateException("Unknown dimension " + count.dimension());
+                    }
+                }
+                next.archived.add(registrationRepository.countArchived());
+            });
+            Counters previous = active;
+            active = next;
+            if (previous != null && previous.total.sum() != next.total.sum()) {
+                logger.info("Registration stats reconciled in {} ms, total corrected from {} to {}",
+                        (System.nanoTime() - start) / 1_000_000, previous.total.sum(), next.total.sum());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reconcile the registration stats, keeping the incremental counts", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    // Waits for a running reconciliation instead of starting a second full count after it
+    private synchronized Counters awaitFirstReconcile() {
+        if (active == null) {
+            reconcile();
+        }
+        return active;
+    }
+
+    static String ageBand(Integer age) {
+        if (age == null) {
+            return UNKNOWN;
+        }
+        if (age < 18) {
+            return "0-17";
+        }
+        if (age < 25) {
+            return "18-24";
+        }
+        if (age < 35) {
+            return "25-34";
+        }
+        if (age < 45) {
+            return "35-44";
+        }
+        if (age < 55) {
+            return "45-54";
+        }
+        if (age < 65) {
+            return "55-64";
+        }
+        return "65+";
+    }
+
+    // Rolled back writes must not move the counters
+    private void afterCommit(Consumer<Counters> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private void apply(Consumer<Counters> update) {
+        Counters counters = active;
+        if (counters != null) {
+            update.accept(counters);
+        }
+        Counters next = building;
+        if (next != null) {
+            update.accept(next);
+        }
+    }
+
+    private static final class Counters {
+        private final LocalDateTime reconciledAt;
+        private final LongAdder total = new LongAdder();
+        private final LongAdder archived = new LongAdder();
+        private final Dimension byStatus = new Dimension();
+        private final Dimension byCountryCode = new Dimension();
+        private final Dimension byAgeBand = new Dimension();
+
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+
+        private void add(String status, String countryCode, Integer age, long delta) {
+            total.add(delta);
+            byStatus.add(status, delta);
+            byCountryCode.add(countryCode, delta);
+            byAgeBand.add(ageBand(age), delta);
+        }
+
+        private RegistrationStatsResponse toResponse() {
+            return new RegistrationStatsResponse(total.sum(), archived.sum(), byStatus.toMap(),
+                    byCountryCode.toMap(), byAgeBand.toMap(), reconciledAt);
+        }
+    }
+
+    private static final class Dimension {
+        private final ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        private void add(String value, long delta) {
+            counts.computeIfAbsent(value != null ? value : UNKNOWN, v -> new LongAdder()).add(delta);
+        }
+
+        private void move(String from, String to) {
+            if (!Objects.equals(from, to)) {
+                add(from, -1);
+                add(to, 1);
+            }
+        }
+
+        private Map<String, Long> toMap() {
+            Map<String, Long> map = new TreeMap<>();
+            counts.forEach((value, count) -> {
+                long sum = count.sum();
+                if (sum != 0) {
+                    map.put(value, sum);
+                }
+            });
+            return map;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.itau.registration.application.dto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationError {
+    private int index;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.itau.registration.application.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationResponse {
+    private int received;
+    private int created;
+    private List<BulkRegistrationError> errors;
+}
@@ -0,0 +1,13 @@
+package com.itau.registration.application.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationPage {
+    private List<RegistrationResponse> items;
+    private String nextCursor;
+}
@@ -16,6 +16,7 @@ public class RegistrationResponse {
     private String countryCode;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     @Setter
     private String message;
 }
@@ -0,0 +1,18 @@
+package com.itau.registration.application.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationSearchCriteria {
+    private String email;
+    private String emailPrefix;
+    private String countryCode;
+    private String status;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
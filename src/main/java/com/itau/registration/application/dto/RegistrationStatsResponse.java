@@ -0,0 +1,18 @@
+package com.itau.registration.application.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationStatsResponse {
+    private long total;
+    private long archived;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCountryCode;
+    private Map<String, Long> byAgeBand;
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,8 @@
+package com.itau.registration.application.exception;
+
+public class EmailAlreadyExistsException extends RuntimeException {
+
+    public EmailAlreadyExistsException(String email) {
+        super("Email already exists: " + email);
+    }
+}
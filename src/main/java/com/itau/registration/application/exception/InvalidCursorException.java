@@ -0,0 +1,8 @@
+package com.itau.registration.application.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid cursor");
+    }
+}
@@ -0,0 +1,12 @@
+package com.itau.registration.application.exception;
+
+/**
+ * A request the client has to change before retrying. The message is returned to the client, so it must not
+ * carry internal details.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.itau.registration.application.exception;
+
+public class RegistrationVersionMismatchException extends RuntimeException {
+
+    public RegistrationVersionMismatchException(Long id, Long expectedVersion) {
+        super("Registration " + id + " is no longer at version " + expectedVersion);
+    }
+}
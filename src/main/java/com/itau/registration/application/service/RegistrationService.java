@@ -1,21 +1,42 @@
 package com.itau.registration.application.service;
 
 
+import com.itau.registration.application.dto.BulkRegistrationResponse;
+import com.itau.registration.application.dto.RegistrationPage;
 import com.itau.registration.application.dto.RegistrationRequest;
 import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.application.dto.RegistrationStatsResponse;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface RegistrationService {
 
     RegistrationResponse createRegistration(RegistrationRequest request);
 
+    BulkRegistrationResponse importRegistrations(Iterator<RegistrationRequest> requests);
+
     Optional<RegistrationResponse> getRegistration(Long id);
 
-    List<RegistrationResponse> getAllRegistrations();
+    RegistrationPage getRegistrations(String cursor, Integer limit);
+
+    RegistrationPage searchRegistrations(RegistrationSearchCriteria criteria, String cursor, Integer limit);
 
-    Optional<RegistrationResponse> updateRegistration(Long id, RegistrationRequest request);
+    void streamRegistrations(Consumer<RegistrationResponse> consumer);
+
+    /**
+     * Applies the non-null fields of the request. With an expected version the update only applies to
+     * that version and throws {@code RegistrationVersionMismatchException} otherwise.
+     */
+    Optional<RegistrationResponse> updateRegistration(Long id, RegistrationRequest request, Long expectedVersion);
 
     boolean deleteRegistration(Long id);
+
+    /**
+     * Counts by status, country code and age band from in-memory counters. Only a call made before the
+     * first reconciliation has finished waits for a full count of the table.
+     */
+    RegistrationStatsResponse getRegistrationStats();
 }
@@ -0,0 +1,57 @@
+package com.itau.registration.application.service.impl;
+
+import com.itau.registration.application.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+final class RegistrationCursor {
+
+    private RegistrationCursor() {
+    }
+
+    static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decodeToString(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    static String encode(LocalDateTime createdAt, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Position(null, null);
+        }
+        try {
+            String[] parts = decodeToString(cursor).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException();
+            }
+            return new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    private static String decodeToString(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    record Position(LocalDateTime createdAt, Long id) {
+    }
+}
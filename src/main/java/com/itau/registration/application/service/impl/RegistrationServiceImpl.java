@@ -1,17 +1,44 @@
 package com.itau.registration.application.service.impl;
 
+import com.itau.registration.adapter.out.archive.RegistrationArchive;
+import com.itau.registration.adapter.out.cache.KnownEmailFilter;
+import com.itau.registration.adapter.out.cache.RegistrationCache;
+import com.itau.registration.adapter.out.persistence.OutboxEventRepository;
 import com.itau.registration.adapter.out.persistence.RegistrationRepository;
-import com.itau.registration.adapter.out.notification.KafkaNotificationPublisher;
+import com.itau.registration.adapter.out.persistence.RegistrationUpdate;
+import com.itau.registration.adapter.out.stats.RegistrationStats;
+import com.itau.registration.application.dto.BulkRegistrationError;
+import com.itau.registration.application.dto.BulkRegistrationResponse;
+import com.itau.registration.application.dto.RegistrationPage;
 import com.itau.registration.application.dto.RegistrationRequest;
 import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.application.dto.RegistrationStatsResponse;
+import com.itau.registration.application.exception.EmailAlreadyExistsException;
+import com.itau.registration.application.exception.InvalidRequestException;
+import com.itau.registration.application.exception.RegistrationVersionMismatchException;
 import com.itau.registration.application.service.RegistrationService;
+import com.itau.registration.config.CorrelationId;
+import com.itau.registration.domain.model.OutboxEvent;
 import com.itau.registration.domain.model.Registration;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,71 +46,248 @@ import java.util.stream.Collectors;
 public class RegistrationServiceImpl implements RegistrationService {
 
     private final RegistrationRepository registrationRepository;
-    private final KafkaNotificationPublisher notificationPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final RegistrationCache registrationCache;
+    private final KnownEmailFilter knownEmailFilter;
+    private final RegistrationArchive registrationArchive;
+    private final RegistrationStats registrationStats;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
 
+    @Value("${registration.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${registration.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${registration.stream.fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Value("${registration.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     @Override
+    @Transactional
+    @Timed(value = "registration.service", extraTags = {"operation", "create"})
     public RegistrationResponse createRegistration(RegistrationRequest request) {
-        Registration registration = Registration.builder()
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .email(request.getEmail())
-                .age(request.getAge())
-                .countryCode(request.getCountryCode())
-                .status("PROCESSING")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        Registration saved = registrationRepository.save(registration);
+        assertEmailAvailable(request.getEmail());
+        Registration saved = registrationRepository.save(newRegistration(request));
+        knownEmailFilter.add(saved.getEmail());
+        registrationStats.created(saved);
 
-        notificationPublisher.publishRegistrationCreatedEvent(saved.getId(), saved.getEmail(), saved.getCreatedAt());
+        outboxEventRepository.save(newOutboxEvent(saved));
 
         return mapToResponse(saved, "New registration is processing.");
     }
 
     @Override
+    @Timed(value = "registration.service", extraTags = {"operation", "import"})
+    public BulkRegistrationResponse importRegistrations(Iterator<RegistrationRequest> requests) {
+        List<BulkRegistrationError> errors = new ArrayList<>();
+        List<Registration> chunk = new ArrayList<>(bulkChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(bulkChunkSize);
+        int received = 0;
+        int created = 0;
+
+        while (true) {
+            RegistrationRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                errors.add(new BulkRegistrationError(received, null, "Malformed record, import stopped"));
+                received++;
+                break;
+            }
+
+            int index = received++;
+            if (request == null) {
+                errors.add(new BulkRegistrationError(index, null, "Record must be an object"));
+                continue;
+            }
+            Set<ConstraintViolation<RegistrationRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                errors.add(new BulkRegistrationError(index, request.getEmail(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+
+            chunk.add(newRegistration(request));
+            chunkIndexes.add(index);
+            if (chunk.size() >= bulkChunkSize) {
+                created += writeChunk(chunk, chunkIndexes, errors);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += writeChunk(chunk, chunkIndexes, errors);
+        }
+
+        return new BulkRegistrationResponse(received, created, errors);
+    }
+
+    private int writeChunk(List<Registration> chunk, List<Integer> chunkIndexes, List<BulkRegistrationError> errors) {
+        int[] counts = transactionTemplate.execute(status -> {
+            int[] inserted = registrationRepository.insertIgnoringDuplicates(chunk);
+            List<OutboxEvent> events = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (inserted[i] > 0) {
+                    events.add(newOutboxEvent(chunk.get(i)));
+                    knownEmailFilter.add(chunk.get(i).getEmail());
+                    registrationStats.created(chunk.get(i));
+                }
+            }
+            outboxEventRepository.insertAll(events);
+            return inserted;
+        });
+
+        int created = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            if (counts != null && counts[i] > 0) {
+                created++;
+            } else {
+                errors.add(new BulkRegistrationError(chunkIndexes.get(i), chunk.get(i).getEmail(), "Email already exists"));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+        return created;
+    }
+
+    @Override
+    @Timed(value = "registration.service", extraTags = {"operation", "get"})
     public Optional<RegistrationResponse> getRegistration(Long id) {
-        return registrationRepository.findById(id)
-                .map(reg ->
-                        mapToResponse(reg, String.format("Registration %d retrieved.", reg.getId())
-                ));
+        return registrationCache.get(id, () -> registrationRepository.findResponseById(id)
+                .or(() -> registrationArchive.find(id).map(reg -> mapToResponse(reg, "Registration retrieved."))));
+    }
+
+    @Override
+    @Timed(value = "registration.service", extraTags = {"operation", "list"})
+    public RegistrationPage getRegistrations(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<RegistrationResponse> registrations = registrationRepository.findResponsesByIdGreaterThan(
+                RegistrationCursor.decode(cursor), PageRequest.ofSize(pageSize + 1));
+
+        boolean hasNext = registrations.size() > pageSize;
+        List<RegistrationResponse> items = hasNext ? registrations.subList(0, pageSize) : registrations;
+        String nextCursor = hasNext ? RegistrationCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return new RegistrationPage(items, nextCursor);
     }
 
     @Override
-    public List<RegistrationResponse> getAllRegistrations() {
-        return registrationRepository.findAll()
-                .stream()
+    @Timed(value = "registration.service", extraTags = {"operation", "search"})
+    public RegistrationPage searchRegistrations(RegistrationSearchCriteria criteria, String cursor, Integer limit) {
+        // Only filters backed by a leading index column are accepted, so a search never scans the table.
+        if (StringUtils.isAllBlank(criteria.getEmail(), criteria.getEmailPrefix(), criteria.getStatus(), criteria.getCountryCode())) {
+            throw new InvalidRequestException("Search requires email, emailPrefix, status or countryCode");
+        }
+        int pageSize = pageSize(limit);
+        RegistrationCursor.Position after = RegistrationCursor.decodePosition(cursor);
+        List<Registration> registrations = registrationRepository.search(
+                criteria, after.createdAt(), after.id(), pageSize + 1);
+
+        boolean hasNext = registrations.size() > pageSize;
+        List<Registration> page = hasNext ? registrations.subList(0, pageSize) : registrations;
+        List<RegistrationResponse> items = page.stream()
                 .map(reg -> mapToResponse(reg, reg.getStatus()))
-                .collect(Collectors.toList());
+                .toList();
+        Registration last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext ? RegistrationCursor.encode(last.getCreatedAt(), last.getId()) : null;
+        return new RegistrationPage(items, nextCursor);
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.min(Math.max(limit, 1), maxPageSize);
     }
 
     @Override
-    public Optional<RegistrationResponse> updateRegistration(Long id, RegistrationRequest request) {
-        return registrationRepository.findById(id)
-                .map(reg -> {
-                    if (request.getFirstName() != null) reg.setFirstName(request.getFirstName());
-                    if (request.getLastName() != null) reg.setLastName(request.getLastName());
-                    if (request.getEmail() != null) reg.setEmail(request.getEmail());
-                    if (request.getAge() != null) reg.setAge(request.getAge());
-                    if (request.getCountryCode() != null) reg.setCountryCode(request.getCountryCode());
-                    reg.setUpdatedAt(LocalDateTime.now());
-                    Registration updated = registrationRepository.save(reg);
-                    return mapToResponse(updated, "Registration is updated.");
-                });
+    @Transactional(readOnly = true)
+    @Timed(value = "registration.service", extraTags = {"operation", "stream"})
+    public void streamRegistrations(Consumer<RegistrationResponse> consumer) {
+        registrationRepository.streamAll(streamFetchSize, reg -> consumer.accept(mapToResponse(reg, reg.getStatus())));
     }
 
+    // One UPDATE ... RETURNING; a new email that is taken fails on the unique lower(email) index (409).
+    // The existence check only runs when an If-Match version did not match. Archived registrations are read-only
+    // and their emails stay reserved, which the unique index cannot see.
     @Override
+    @Transactional
+    @Timed(value = "registration.service", extraTags = {"operation", "update"})
+    public Optional<RegistrationResponse> updateRegistration(Long id, RegistrationRequest request, Long expectedVersion) {
+        if (request.getEmail() != null && registrationArchive.isArchivedEmail(request.getEmail())) {
+            throw new EmailAlreadyExistsException(request.getEmail());
+        }
+        Optional<RegistrationUpdate> update = registrationRepository.updateNonNullFields(id, request, expectedVersion, LocalDateTime.now());
+        if (update.isEmpty()) {
+            if (expectedVersion != null && registrationRepository.existsById(id)) {
+                throw new RegistrationVersionMismatchException(id, expectedVersion);
+            }
+            return Optional.empty();
+        }
+        Registration updated = update.get().registration();
+        knownEmailFilter.add(updated.getEmail());
+        registrationStats.updated(updated, update.get().previousAge(), update.get().previousCountryCode());
+        registrationCache.evict(id);
+        return Optional.of(mapToResponse(updated, "Registration is updated."));
+    }
+
+    @Override
+    @Transactional
+    @Timed(value = "registration.service", extraTags = {"operation", "delete"})
     public boolean deleteRegistration(Long id) {
-        return registrationRepository.findById(id)
-                .map(reg -> {
-                    registrationRepository.delete(reg);
-                    return true;
-                })
-                .orElse(false);
+        Optional<Registration> deleted = registrationRepository.deleteRegistrationById(id);
+        if (deleted.isPresent()) {
+            registrationStats.deleted(deleted.get());
+        } else if (registrationArchive.delete(id)) {
+            registrationStats.archiveDeleted();
+        } else {
+            return false;
+        }
+        registrationCache.evict(id);
+        return true;
+    }
+
+    @Override
+    @Timed(value = "registration.service", extraTags = {"operation", "stats"})
+    public RegistrationStatsResponse getRegistrationStats() {
+        return registrationStats.snapshot();
+    }
+
+    // The filter answers most new emails without a query; probable hits are confirmed through the
+    // lower(email) index. Concurrent duplicates still end on the unique index (DataIntegrityViolationException).
+    private void assertEmailAvailable(String email) {
+        if (email != null && knownEmailFilter.mightContain(email) && registrationRepository.emailExists(email)) {
+            throw new EmailAlreadyExistsException(email);
+        }
+    }
+
+    private Registration newRegistration(RegistrationRequest request) {
+        return Registration.builder()
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .email(request.getEmail())
+                .age(request.getAge())
+                .countryCode(request.getCountryCode())
+                .status("PROCESSING")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private OutboxEvent newOutboxEvent(Registration registration) {
+        return OutboxEvent.builder()
+                .registrationId(registration.getId())
+                .email(registration.getEmail())
+                .registrationCreatedAt(registration.getCreatedAt())
+                .createdAt(LocalDateTime.now())
+                .correlationId(CorrelationId.current())
+                .build();
     }
 
-    private RegistrationResponse mapToResponse(Registration registration, String message) {
+    RegistrationResponse mapToResponse(Registration registration, String message) {
         return new RegistrationResponse(
                 registration.getId(),
                 registration.getFirstName(),
@@ -93,6 +297,7 @@ public class RegistrationServiceImpl implements RegistrationService {
                 registration.getCountryCode(),
                 registration.getCreatedAt(),
                 registration.getUpdatedAt(),
+                registration.getVersion(),
                 message
         );
     }
@@ -0,0 +1,95 @@
+package com.itau.registration.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the latency of the work it admits (gradient algorithm). A short and a long
+ * moving average of the response time are kept; while the short one stays within {@code tolerance} of the
+ * long one the limit grows by about sqrt(limit) per sample, and when requests start queueing (short average
+ * above the long one) it shrinks in proportion, down to half per sample.
+ * Low-priority callers may only use {@code lowPriorityShare} of the limit, so the rest stays free for the
+ * others when the limit is reached.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double lowPriorityShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double lowPriorityShare) {
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.lowPriorityShare = lowPriorityShare;
+    }
+
+    /**
+     * Takes a slot, or returns false when the limit (or the low-priority share of it) is in use. A taken
+     * slot must be given back with {@link #release}.
+     */
+    public boolean tryAcquire(boolean lowPriority) {
+        int allowed = lowPriority ? Math.max(1, (int) (limit * lowPriorityShare)) : (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot and, when {@code rttNanos} is not negative, adjusts the limit with the response
+     * time of the work it admitted.
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            onSample(rttNanos, current);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        rttNanos = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * 2 / (SHORT_WINDOW + 1);
+        longRtt += (rttNanos - longRtt) * 2 / (LONG_WINDOW + 1);
+        // After an overload the long average is inflated; pull it down so the limit can grow back
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Only probe upwards while the limit is actually being used
+        if (inFlightAtRelease < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
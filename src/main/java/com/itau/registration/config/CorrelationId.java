@@ -0,0 +1,40 @@
+package com.itau.registration.config;
+
+import org.slf4j.MDC;
+
+/**
+ * Correlation id of the request that caused the current work. It is taken from (or added to) the HTTP
+ * request, stored with the outbox row, sent as a Kafka record header and put back into the MDC by the
+ * notification consumer and workers, so every log line of one registration can be found together.
+ */
+public final class CorrelationId {
+
+    public static final String HTTP_HEADER = "X-Correlation-Id";
+    public static final String KAFKA_HEADER = "correlation_id";
+    public static final String MDC_KEY = "correlationId";
+
+    private CorrelationId() {
+    }
+
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    /**
+     * Binds the id to the current thread until the returned scope is closed, restoring the previous one.
+     * A null id leaves the MDC untouched.
+     */
+    public static Scope bind(String correlationId) {
+        if (correlationId == null) {
+            return () -> { };
+        }
+        String previous = MDC.get(MDC_KEY);
+        MDC.put(MDC_KEY, correlationId);
+        return previous == null ? () -> MDC.remove(MDC_KEY) : () -> MDC.put(MDC_KEY, previous);
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
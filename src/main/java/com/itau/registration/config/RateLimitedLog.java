@@ -0,0 +1,41 @@
+package com.itau.registration.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most {@code permits} log events per interval and counts the rest, so a burst of the
+ * same message (a broker outage, a bouncing mail server) costs a few lines instead of one per event.
+ * The count of suppressed events is reported with the next event that is let through.
+ */
+public final class RateLimitedLog {
+
+    private final int permits;
+    private final long intervalNanos;
+    private final AtomicLong windowStart;
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLog(int permits, Duration interval) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of events suppressed since the last one let through, or -1 when this event
+     * should not be logged.
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() > permits) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.itau.registration.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_event")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long registrationId;
+
+    private String email;
+
+    private LocalDateTime registrationCreatedAt;
+
+    private LocalDateTime createdAt;
+
+    private String correlationId;
+
+    private LocalDateTime leasedUntil;
+}
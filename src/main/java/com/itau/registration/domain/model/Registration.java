@@ -6,15 +6,24 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "registration")
+// The unique lower(email) index is an expression index and is declared in db/schema.sql only.
+@Table(name = "registration", indexes = {
+        @Index(name = "registration_status_created_at_idx", columnList = "status, created_at, id"),
+        @Index(name = "registration_country_code_created_at_idx", columnList = "country_code, created_at, id")
+})
 @Setter
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Registration {
+    // Ids come from a pooled-lo sequence so Hibernate and the bulk import can both batch inserts;
+    // each nextval reserves ID_ALLOCATION_SIZE consecutive ids.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String firstName;
@@ -32,4 +41,7 @@ public class Registration {
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
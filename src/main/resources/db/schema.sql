@@ -0,0 +1,63 @@
+-- Idempotent: applied on startup with spring.sql.init.mode=always, and run as is to upgrade a database
+-- whose schema is managed outside the application (see README, "Schema do banco").
+create sequence if not exists registration_seq increment by 50;
+
+create table if not exists registration (
+    id           bigint primary key,
+    first_name   varchar(50),
+    last_name    varchar(50),
+    email        varchar(255) not null,
+    age          integer,
+    country_code varchar(2),
+    status       varchar(20),
+    created_at   timestamp,
+    updated_at   timestamp,
+    version      bigint       not null default 0
+);
+
+-- Bumped by every client update; PATCH with If-Match only applies to the expected version.
+alter table registration add column if not exists version bigint not null default 0;
+
+-- Emails are unique regardless of case. text_pattern_ops lets the same index serve the prefix search
+-- (lower(email) like 'abc%') under any database collation.
+create unique index if not exists registration_email_lower_key on registration (lower(email) text_pattern_ops);
+alter table registration drop constraint if exists registration_email_key;
+
+-- Search filters: ordered by (created_at, id) within a status or country for keyset paging.
+create index if not exists registration_status_created_at_idx on registration (status, created_at, id);
+create index if not exists registration_country_code_created_at_idx on registration (country_code, created_at, id);
+
+-- Keeps the PROCESSING backlog count cheap; rows leave the index once notified.
+create index if not exists registration_processing_idx on registration (id) where status = 'PROCESSING';
+
+-- Cold tier: PROCESSED registrations older than registration.archive.after-days are moved out of the
+-- registration table into monthly compressed files (RegistrationArchiver). This narrow insert-only table
+-- keeps what the hot table can no longer answer: which monthly file holds an id, and that an email is taken.
+create table if not exists registration_archive_entry (
+    id            bigint primary key,
+    email         varchar(255) not null,
+    archive_month date         not null
+);
+-- Not unique: an email can reach the archive twice (e.g. registered again while its first registration was
+-- being archived), and a conflict here would abort the whole archive batch. Lookups only need the index.
+drop index if exists registration_archive_entry_email_key;
+create index if not exists registration_archive_entry_email_idx on registration_archive_entry (lower(email));
+
+-- Registration ids used to come from a bigserial column; never let the sequence hand out an existing id.
+select setval('registration_seq',
+              greatest(coalesce((select max(id) from registration), 0) + 1, nextval('registration_seq')),
+              false);
+
+create table if not exists outbox_event (
+    id                      bigserial primary key,
+    registration_id         bigint       not null,
+    email                   varchar(255) not null,
+    registration_created_at timestamp    not null,
+    created_at              timestamp    not null,
+    correlation_id          varchar(64),
+    leased_until            timestamp
+);
+
+alter table outbox_event add column if not exists correlation_id varchar(64);
+-- Set while a relay is sending the event; an expired lease (relay died mid-send) makes it eligible again.
+alter table outbox_event add column if not exists leased_until timestamp;
@@ -0,0 +1,63 @@
+package com.itau.registration.adapter.in;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Limit of 2, writes may use 1 of it
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(meterRegistry, 2, 1, 2, 1.5, 0.5, 3);
+
+    @Test
+    @DisplayName("Should reject a write over the limit with 429 and Retry-After")
+    void testRejectsWriteOverLimit() throws Exception {
+        filter.limit().tryAcquire(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean called = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/registrations"), response, (req, res) -> called.set(true));
+
+        assertThat(called).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getContentAsString()).isEqualTo(AdmissionControlFilter.REJECTED_BODY);
+        assertThat(meterRegistry.counter("registration.admission.rejected", "priority", "write").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep admitting reads while writes are shed")
+    void testAdmitsReadsWhenWritesAreShed() throws Exception {
+        filter.limit().tryAcquire(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean called = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/registrations"), response, (req, res) -> called.set(true));
+
+        assertThat(called).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.limit().getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not limit requests outside /registrations")
+    void testIgnoresOtherPaths() throws Exception {
+        filter.limit().tryAcquire(false);
+        filter.limit().tryAcquire(false);
+        AtomicBoolean called = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                (req, res) -> called.set(true));
+
+        assertThat(called).isTrue();
+    }
+}
@@ -0,0 +1,45 @@
+package com.itau.registration.adapter.in;
+
+import com.itau.registration.config.CorrelationId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    @DisplayName("Should bind the incoming correlation id while the request runs and echo it")
+    void testKeepsIncomingId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/registrations");
+        request.addHeader(CorrelationId.HTTP_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(CorrelationId.current()));
+
+        assertThat(seen.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(CorrelationId.HTTP_HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(CorrelationId.MDC_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should replace a missing or unsafe correlation id with a generated one")
+    void testGeneratesId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/registrations");
+        request.addHeader(CorrelationId.HTTP_HEADER, "bad\nid");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(CorrelationId.current()));
+
+        assertThat(seen.get()).hasSize(36).isEqualTo(response.getHeader(CorrelationId.HTTP_HEADER));
+    }
+}
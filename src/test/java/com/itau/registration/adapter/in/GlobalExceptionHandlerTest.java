@@ -1,5 +1,8 @@
 package com.itau.registration.adapter.in;
 
+import com.itau.registration.application.exception.EmailAlreadyExistsException;
+import com.itau.registration.application.exception.InvalidCursorException;
+import com.itau.registration.application.exception.RegistrationVersionMismatchException;
 import com.itau.registration.application.service.RegistrationService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,8 +14,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -58,6 +64,27 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("Generic error"));
     }
 
+    @Test
+    @DisplayName("Should return 400 on an invalid pagination cursor")
+    void testExceptionHandlingOnInvalidCursor() throws Exception {
+        when(registrationService.getRegistrations("not-a-cursor", null))
+                .thenThrow(new InvalidCursorException());
+
+        mockMvc.perform(get("/registrations").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("Should not treat an unexpected IllegalArgumentException as a client error")
+    void testExceptionHandlingOnUnexpectedIllegalArgument() throws Exception {
+        when(registrationService.getRegistrations(null, null))
+                .thenThrow(new IllegalArgumentException("internal detail"));
+
+        mockMvc.perform(get("/registrations"))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     @DisplayName("Should return 409 on data integrity violation")
     void testExceptionHandlingOnDatabaseDataIntegrityViolation() throws Exception {
@@ -79,5 +106,40 @@ class GlobalExceptionHandlerTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.message").value("Email already exists please perform an update"));
     }
-}
 
+    @Test
+    @DisplayName("Should return 409 when the email is already registered")
+    void testExceptionHandlingOnEmailAlreadyExists() throws Exception {
+        String payload = """
+            {
+              "firstName": "first",
+              "lastName": "last",
+              "countryCode": "BR",
+              "email": "email@itau.com",
+              "age": 19
+            }
+            """;
+        when(registrationService.createRegistration(any()))
+                .thenThrow(new EmailAlreadyExistsException("email@itau.com"));
+
+        mockMvc.perform(post("/registrations")
+                        .content(payload)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Email already exists please perform an update"));
+    }
+
+    @Test
+    @DisplayName("Should return 412 when the If-Match version is stale")
+    void testStaleVersionOnUpdate() throws Exception {
+        when(registrationService.updateRegistration(eq(1L), any(), eq(2L)))
+                .thenThrow(new RegistrationVersionMismatchException(1L, 2L));
+
+        mockMvc.perform(patch("/registrations/1")
+                        .header("If-Match", "\"2\"")
+                        .content("{\"firstName\": \"other\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Registration was modified, reload it and retry the update"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.itau.registration.adapter.in;
+
+import com.itau.registration.adapter.out.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitStore store = mock(RateLimitStore.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(store, meterRegistry, Set.of("partner-a"));
+
+    @Test
+    @DisplayName("Should limit a known partner by its API key")
+    void testKnownApiKey() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/registrations");
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, "partner-a");
+        AtomicBoolean called = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> called.set(true));
+
+        assertThat(called).isTrue();
+        verify(store).tryAcquire("key:partner-a");
+    }
+
+    @Test
+    @DisplayName("Should limit by remote address when the API key is unknown")
+    void testUnknownApiKey() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/registrations");
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, "made-up");
+        request.setRemoteAddr("10.0.0.7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        verify(store).tryAcquire("ip:10.0.0.7");
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 and Retry-After rounded up to whole seconds")
+    void testRejects() throws Exception {
+        when(store.tryAcquire(anyString())).thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean called = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/registrations"), response, (req, res) -> called.set(true));
+
+        assertThat(called).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).isEqualTo(RateLimitFilter.REJECTED_BODY);
+        assertThat(meterRegistry.counter("registration.rate-limit.rejected", "client", "address").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not limit requests outside /registrations")
+    void testIgnoresOtherPaths() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), new MockHttpServletResponse(), (req, res) -> { });
+
+        verifyNoInteractions(store);
+    }
+}
@@ -1,26 +1,42 @@
 package com.itau.registration.adapter.in;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.registration.application.dto.BulkRegistrationResponse;
+import com.itau.registration.application.dto.RegistrationPage;
 import com.itau.registration.application.dto.RegistrationRequest;
 import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.application.dto.RegistrationStatsResponse;
 import com.itau.registration.application.service.RegistrationService;
+import com.itau.registration.application.exception.InvalidRequestException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +60,7 @@ class RegistrationControllerTest {
                 id, firstName, lastName, email, age, "BR",
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now(),
+                3L,
                 "Success"
         );
     }
@@ -63,6 +80,49 @@ class RegistrationControllerTest {
         assertThat(result.getBody().getMessage()).isEqualTo("Success");
     }
 
+    @Test
+    @DisplayName("Should parse a JSON array body record by record for bulk import")
+    void testImportRegistrationsFromJsonArray() throws Exception {
+        RegistrationController controller = new RegistrationController(registrationService, new ObjectMapper());
+        String payload = """
+            [
+              {"firstName": "A", "lastName": "B", "email": "a@email.com", "age": 20, "countryCode": "BR"},
+              {"firstName": "C", "lastName": "D", "email": "c@email.com", "age": 30, "countryCode": "US"}
+            ]
+            """;
+        List<String> parsedEmails = new ArrayList<>();
+        when(registrationService.importRegistrations(any())).thenAnswer(inv -> {
+            Iterator<RegistrationRequest> requests = inv.getArgument(0);
+            requests.forEachRemaining(r -> parsedEmails.add(r.getEmail()));
+            return new BulkRegistrationResponse(parsedEmails.size(), parsedEmails.size(), List.of());
+        });
+
+        ResponseEntity<BulkRegistrationResponse> result = controller.importRegistrations(
+                new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody().getCreated()).isEqualTo(2);
+        assertThat(parsedEmails).containsExactly("a@email.com", "c@email.com");
+    }
+
+    @Test
+    @DisplayName("Should parse a newline-delimited body for bulk import")
+    void testImportRegistrationsFromNdjson() throws Exception {
+        RegistrationController controller = new RegistrationController(registrationService, new ObjectMapper());
+        String payload = "{\"firstName\": \"A\", \"lastName\": \"B\", \"email\": \"a@email.com\", \"age\": 20, \"countryCode\": \"BR\"}\n"
+                + "{\"firstName\": \"C\", \"lastName\": \"D\", \"email\": \"c@email.com\", \"age\": 30, \"countryCode\": \"US\"}\n";
+        List<String> parsedEmails = new ArrayList<>();
+        when(registrationService.importRegistrations(any())).thenAnswer(inv -> {
+            Iterator<RegistrationRequest> requests = inv.getArgument(0);
+            requests.forEachRemaining(r -> parsedEmails.add(r.getEmail()));
+            return new BulkRegistrationResponse(parsedEmails.size(), parsedEmails.size(), List.of());
+        });
+
+        controller.importRegistrations(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(parsedEmails).containsExactly("a@email.com", "c@email.com");
+    }
+
     // ---------------------- GET ----------------------
     @Test
     @DisplayName("Should return registration by id when it's found")
@@ -71,11 +131,12 @@ class RegistrationControllerTest {
 
         when(registrationService.getRegistration(1L)).thenReturn(Optional.of(response));
 
-        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(1L);
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(1L, null, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         assertThat(result.getBody()).isNotNull();
         assertThat(result.getBody().get(0).getMessage()).isEqualTo("Success");
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"3\"");
     }
 
     @Test
@@ -83,12 +144,25 @@ class RegistrationControllerTest {
     void testGetRegistrationNotFound() {
         when(registrationService.getRegistration(99L)).thenReturn(Optional.empty());
 
-        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(99L);
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(99L, null, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(204);
         assertThat(result.getBody()).isNull();
     }
 
+    @Test
+    @DisplayName("Should return the registration stats")
+    void testGetRegistrationStats() {
+        RegistrationStatsResponse stats = new RegistrationStatsResponse(3, 1, Map.of("PROCESSED", 3L),
+                Map.of("BR", 3L), Map.of("25-34", 3L), LocalDateTime.now());
+        when(registrationService.getRegistrationStats()).thenReturn(stats);
+
+        ResponseEntity<RegistrationStatsResponse> result = registrationController.getRegistrationStats();
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody()).isSameAs(stats);
+    }
+
     // ---------------------- LIST ----------------------
     @Test
     @DisplayName("Should return list of registrations")
@@ -98,25 +172,74 @@ class RegistrationControllerTest {
                 buildResponse(2L, "User2", "Last2", "user2@email.com", 28)
         );
 
-        when(registrationService.getAllRegistrations()).thenReturn(responses);
+        when(registrationService.getRegistrations(null, null)).thenReturn(new RegistrationPage(responses, null));
 
-        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(null);
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(null, null, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         assertThat(result.getBody()).hasSize(2);
         assertThat(result.getBody().get(0).getMessage()).isEqualTo("Success");
+        assertThat(result.getHeaders().containsKey(RegistrationController.NEXT_CURSOR_HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should expose the next cursor header when more registrations exist")
+    void testListRegistrationsWithNextCursor() {
+        List<RegistrationResponse> responses = List.of(buildResponse(3L, "User3", "Last3", "user3@email.com", 30));
+
+        when(registrationService.getRegistrations("abc", 1)).thenReturn(new RegistrationPage(responses, "next"));
+
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(null, "abc", 1);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody()).hasSize(1);
+        assertThat(result.getHeaders().getFirst(RegistrationController.NEXT_CURSOR_HEADER)).isEqualTo("next");
     }
 
     @Test
     @DisplayName("Should return 204 when list is empty")
     void testListRegistrationsEmpty() {
-        when(registrationService.getAllRegistrations()).thenReturn(List.of());
+        when(registrationService.getRegistrations(null, null)).thenReturn(new RegistrationPage(List.of(), null));
 
-        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(null);
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.listRegistrations(null, null, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(204);
     }
 
+    // ---------------------- SEARCH ----------------------
+    @Test
+    @DisplayName("Should pass the search filters to the service and expose the next cursor")
+    void testSearchRegistrations() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<RegistrationResponse> responses = List.of(buildResponse(1L, "User1", "Last1", "user1@email.com", 30));
+        when(registrationService.searchRegistrations(any(RegistrationSearchCriteria.class), eq("abc"), eq(10)))
+                .thenReturn(new RegistrationPage(responses, "next"));
+
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.searchRegistrations(
+                null, "user", "BR", "PROCESSED", from, null, "abc", 10);
+
+        ArgumentCaptor<RegistrationSearchCriteria> criteria = ArgumentCaptor.forClass(RegistrationSearchCriteria.class);
+        verify(registrationService).searchRegistrations(criteria.capture(), eq("abc"), eq(10));
+        assertThat(criteria.getValue().getEmailPrefix()).isEqualTo("user");
+        assertThat(criteria.getValue().getCountryCode()).isEqualTo("BR");
+        assertThat(criteria.getValue().getStatus()).isEqualTo("PROCESSED");
+        assertThat(criteria.getValue().getCreatedFrom()).isEqualTo(from);
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody()).hasSize(1);
+        assertThat(result.getHeaders().getFirst(RegistrationController.NEXT_CURSOR_HEADER)).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Should return 204 when no registration matches the search")
+    void testSearchRegistrationsEmpty() {
+        when(registrationService.searchRegistrations(any(RegistrationSearchCriteria.class), eq(null), eq(null)))
+                .thenReturn(new RegistrationPage(List.of(), null));
+
+        ResponseEntity<List<RegistrationResponse>> result = registrationController.searchRegistrations(
+                "nobody@email.com", null, null, null, null, null, null, null);
+
+        assertThat(result.getStatusCode().value()).isEqualTo(204);
+    }
 
     // ---------------------- UPDATE ----------------------
     @Test
@@ -124,21 +247,43 @@ class RegistrationControllerTest {
     void testUpdateRegistrationSuccess() {
         RegistrationResponse response = buildResponse(1L, "Updated", "User", "updated@email.com", 35);
 
-        when(registrationService.updateRegistration(eq(1L), any())).thenReturn(Optional.of(response));
+        when(registrationService.updateRegistration(eq(1L), any(), isNull())).thenReturn(Optional.of(response));
 
-        ResponseEntity<RegistrationResponse> result = registrationController.updateRegistration(1L, request);
+        ResponseEntity<RegistrationResponse> result = registrationController.updateRegistration(1L, request, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         Assertions.assertNotNull(result.getBody());
         assertThat(result.getBody().getMessage()).isEqualTo("Updated successfully");
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"3\"");
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the update")
+    void testUpdateRegistrationWithIfMatch() {
+        RegistrationResponse response = buildResponse(1L, "Updated", "User", "updated@email.com", 35);
+
+        when(registrationService.updateRegistration(eq(1L), any(), eq(2L))).thenReturn(Optional.of(response));
+
+        ResponseEntity<RegistrationResponse> result = registrationController.updateRegistration(1L, request, "W/\"2\"");
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed If-Match header")
+    void testUpdateRegistrationWithInvalidIfMatch() {
+        assertThatThrownBy(() -> registrationController.updateRegistration(1L, request, "\"abc\""))
+                .isInstanceOf(InvalidRequestException.class);
+
+        verifyNoInteractions(registrationService);
     }
 
     @Test
     @DisplayName("Should return 204 when updating non-existent registration")
     void testUpdateRegistrationNotFound() {
-        when(registrationService.updateRegistration(eq(99L), any())).thenReturn(Optional.empty());
+        when(registrationService.updateRegistration(eq(99L), any(), isNull())).thenReturn(Optional.empty());
 
-        ResponseEntity<RegistrationResponse> result = registrationController.updateRegistration(99L, request);
+        ResponseEntity<RegistrationResponse> result = registrationController.updateRegistration(99L, request, null);
 
         assertThat(result.getStatusCode().value()).isEqualTo(204);
         Assertions.assertNotNull(result.getBody());
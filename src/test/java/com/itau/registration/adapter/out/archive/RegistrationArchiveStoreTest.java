@@ -0,0 +1,129 @@
+package com.itau.registration.adapter.out.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.registration.domain.model.Registration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrationArchiveStoreTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+
+    @TempDir
+    Path directory;
+
+    private RegistrationArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RegistrationArchiveStore(new ObjectMapper().registerModule(new JavaTimeModule()), directory.toString());
+    }
+
+    @Test
+    @DisplayName("Registrations archived in several batches are found by id")
+    void findsAcrossBatches() {
+        store.append(JANUARY, List.of(registration(1L, "Ana"), registration(10L, "Bia")));
+        store.append(JANUARY, List.of(registration(100L, "Caio")));
+
+        assertThat(store.find(10L, JANUARY)).map(Registration::getFirstName).contains("Bia");
+        assertThat(store.find(100L, JANUARY)).map(Registration::getFirstName).contains("Caio");
+        assertThat(store.find(1L, JANUARY)).get()
+                .extracting(Registration::getCreatedAt)
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 30));
+    }
+
+    @Test
+    @DisplayName("An id is not confused with ids sharing its prefix")
+    void matchesWholeId() {
+        store.append(JANUARY, List.of(registration(12L, "Twelve")));
+
+        assertThat(store.find(1L, JANUARY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The newest copy wins when a failed run archived a row twice")
+    void newestCopyWins() throws InterruptedException {
+        store.append(JANUARY, List.of(registration(5L, "Before")));
+        Thread.sleep(5);
+        store.append(JANUARY, List.of(registration(5L, "After")));
+
+        assertThat(store.find(5L, JANUARY)).map(Registration::getFirstName).contains("After");
+    }
+
+    @Test
+    @DisplayName("Unfinished and damaged batch files are skipped")
+    void skipsPartialFiles() throws IOException {
+        store.append(JANUARY, List.of(registration(1L, "Ana")));
+        Path month = store.monthDirectory(JANUARY);
+        Files.write(month.resolve("1-1-1-unfinished.ndjson.gz.tmp"), new byte[]{31, -117, 8});
+        Files.write(month.resolve("1-1-" + Long.MAX_VALUE + "-damaged.ndjson.gz"), new byte[]{31, -117, 8});
+
+        assertThat(store.find(1L, JANUARY)).map(Registration::getFirstName).contains("Ana");
+    }
+
+    @Test
+    @DisplayName("The id is found wherever it appears in the record")
+    void findsIdInAnyPosition() throws IOException {
+        Path month = Files.createDirectories(store.monthDirectory(JANUARY));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(month.resolve("7-8-1-manual.ndjson.gz")))) {
+            out.write(("{\"firstName\":\"Other\",\"address\":{\"id\":7},\"id\":8}\n" +
+                    "{ \"firstName\" : \"Seven\", \"id\" : 7 }\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(store.find(7L, JANUARY)).map(Registration::getFirstName).contains("Seven");
+    }
+
+    @Test
+    @DisplayName("Purging a registration removes every copy and keeps the rest of its batch")
+    void purgeRemovesEveryCopy() throws IOException {
+        store.append(JANUARY, List.of(registration(1L, "Ana"), registration(2L, "Bia")));
+        store.append(JANUARY, List.of(registration(2L, "Bia")));
+
+        store.purge(2L, JANUARY);
+
+        assertThat(store.find(2L, JANUARY)).isEmpty();
+        assertThat(store.find(1L, JANUARY)).map(Registration::getFirstName).contains("Ana");
+        try (Stream<Path> files = Files.list(store.monthDirectory(JANUARY))) {
+            assertThat(files.map(file -> file.getFileName().toString()).filter(name -> name.endsWith(".ndjson.gz")))
+                    .hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("A month without a file has nothing archived")
+    void missingMonth() {
+        assertThat(store.find(1L, YearMonth.of(2023, 12))).isEqualTo(Optional.empty());
+    }
+
+    private static Registration registration(Long id, String firstName) {
+        return Registration.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("Silva")
+                .email(firstName.toLowerCase() + "@gmail.com")
+                .age(30)
+                .countryCode("BR")
+                .status("PROCESSED")
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .updatedAt(LocalDateTime.of(2024, 1, 15, 10, 31))
+                .version(1L)
+                .build();
+    }
+}
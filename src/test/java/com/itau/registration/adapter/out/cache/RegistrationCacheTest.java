@@ -0,0 +1,120 @@
+package com.itau.registration.adapter.out.cache;
+
+import com.itau.registration.application.dto.RegistrationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrationCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CaffeineRegistrationCacheTier localTier;
+    private InMemorySharedRegistrationCacheTier sharedTier;
+    private RegistrationCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        localTier = new CaffeineRegistrationCacheTier(meterRegistry, 100, 60);
+        sharedTier = new InMemorySharedRegistrationCacheTier(meterRegistry, 60);
+        cache = new RegistrationCache(List.of(localTier, sharedTier));
+        loads = new AtomicInteger();
+    }
+
+    private Optional<RegistrationResponse> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(new RegistrationResponse(id, "First", "Last", "user@email.com", 30, "BR",
+                LocalDateTime.now(), LocalDateTime.now(), 0L, "Registration retrieved."));
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later reads from the local tier")
+    void testReadThrough() {
+        cache.get(1L, () -> load(1L));
+        Optional<RegistrationResponse> second = cache.get(1L, () -> load(1L));
+
+        assertThat(second).isPresent();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(sharedTier.get(1L)).isPresent();
+        assertThat(meterRegistry.get("cache.gets").tag("tier", "local").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should backfill the local tier from the shared tier")
+    void testSharedTierHitBackfillsLocal() {
+        sharedTier.put(load(2L).orElseThrow());
+        loads.set(0);
+
+        Optional<RegistrationResponse> result = cache.get(2L, () -> load(2L));
+
+        assertThat(result).isPresent();
+        assertThat(loads.get()).isZero();
+        assertThat(localTier.get(2L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing registration")
+    void testMissIsNotCached() {
+        cache.get(3L, Optional::empty);
+
+        assertThat(localTier.get(3L)).isEmpty();
+        assertThat(sharedTier.get(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict from every tier")
+    void testEvict() {
+        cache.get(4L, () -> load(4L));
+
+        cache.evict(4L);
+
+        assertThat(localTier.get(4L)).isEmpty();
+        assertThat(sharedTier.get(4L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should defer eviction until the surrounding transaction commits")
+    void testEvictAfterCommit() {
+        cache.get(5L, () -> load(5L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(List.of(5L));
+            assertThat(localTier.get(5L)).isPresent();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(localTier.get(5L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not keep a row loaded before an eviction that ran during the load")
+    void testStaleLoadIsNotCached() {
+        Optional<RegistrationResponse> result = cache.get(6L, () -> {
+            Optional<RegistrationResponse> stale = load(6L);
+            cache.evict(6L);
+            return stale;
+        });
+
+        assertThat(result).isPresent();
+        assertThat(localTier.get(6L)).isEmpty();
+        assertThat(sharedTier.get(6L)).isEmpty();
+        cache.get(6L, () -> load(6L));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,58 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailServiceTest {
+
+    private final EmailSender emailSender = mock(EmailSender.class);
+    private final EmailSender.Session session = mock(EmailSender.Session.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailService emailService = new EmailService(emailSender, meterRegistry, 2);
+
+    @Test
+    @DisplayName("Should send each recipient domain through its own session")
+    void testSendsOneSessionPerDomain() throws Exception {
+        when(emailSender.openSession()).thenReturn(session);
+        List<RegistrationCreatedEvent> events = List.of(
+                event(1L, "first@gmail.com"),
+                event(2L, "second@itau.com.br"),
+                event(3L, "third@GMAIL.com"));
+
+        List<RegistrationCreatedEvent> failed = emailService.sendRegistrationNotifications(events);
+
+        assertThat(failed).isEmpty();
+        verify(emailSender, times(2)).openSession();
+        verify(session, times(3)).send(any());
+        verify(session, times(2)).close();
+        assertThat(meterRegistry.get("notification.email.sent").tag("outcome", "success").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep sending after a failure and return the failed events")
+    void testReturnsFailedEvents() throws Exception {
+        when(emailSender.openSession()).thenReturn(session);
+        RegistrationCreatedEvent bounced = event(1L, "bounce@email.com");
+        RegistrationCreatedEvent delivered = event(2L, "ok@email.com");
+        doThrow(new EmailDeliveryException("mailbox unavailable", null)).when(session).send(bounced);
+
+        List<RegistrationCreatedEvent> failed = emailService.sendRegistrationNotifications(List.of(bounced, delivered));
+
+        assertThat(failed).containsExactly(bounced);
+        verify(session).send(delivered);
+        assertThat(meterRegistry.get("notification.email.sent").tag("outcome", "failure").counter().count()).isEqualTo(1);
+    }
+
+    private static RegistrationCreatedEvent event(Long id, String email) {
+        return new RegistrationCreatedEvent(id, email, LocalDateTime.now());
+    }
+}
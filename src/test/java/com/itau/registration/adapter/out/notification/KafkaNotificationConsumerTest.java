@@ -1,102 +1,76 @@
 package com.itau.registration.adapter.out.notification;
 
 import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
-import com.itau.registration.adapter.out.persistence.RegistrationRepository;
-import com.itau.registration.domain.model.Registration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(properties = {"kafka.delay.millis=1"})
+@ExtendWith(MockitoExtension.class)
 class KafkaNotificationConsumerTest {
 
     @Mock
-    private RegistrationRepository registrationRepository;
+    private NotificationScheduler notificationScheduler;
 
     @Mock
-    private EmailService emailService;
+    private Acknowledgment acknowledgment;
+
+    private final ProcessedNotifications processedNotifications = new ProcessedNotifications(100, 60);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private KafkaNotificationConsumer consumer;
 
     private RegistrationCreatedEvent event;
 
     @BeforeEach
     void setUp() {
+        consumer = new KafkaNotificationConsumer(notificationScheduler, processedNotifications, meterRegistry);
         event = new RegistrationCreatedEvent(
                 1L,
                 "test@email.com",
-                LocalDateTime.now().minusMinutes(5)
+                LocalDateTime.now()
         );
     }
 
     @Test
-    @DisplayName("Should send email and update registration when found")
-    void testConsumeWithExistingRegistration() throws InterruptedException {
-        Registration registration = new Registration();
-        registration.setId(1L);
-        registration.setStatus("PENDING");
-        registration.setUpdatedAt(LocalDateTime.now().minusDays(1));
-
-        when(registrationRepository.findById(1L)).thenReturn(Optional.of(registration));
+    @DisplayName("Should hand the event to the scheduler without acknowledging it")
+    void testConsumeSchedulesEvent() {
+        consumer.consume(event, acknowledgment, null);
 
-        consumer.consume(event);
-
-        verify(emailService, times(1))
-                .sendRegistrationNotification(1L, "test@email.com");
-
-        ArgumentCaptor<Registration> captor = ArgumentCaptor.forClass(Registration.class);
-        verify(registrationRepository).save(captor.capture());
-
-        Registration saved = captor.getValue();
-        assertThat(saved.getStatus()).isEqualTo("PROCESSED");
-        assertThat(saved.getUpdatedAt()).isNotNull();
+        verify(notificationScheduler, times(1)).schedule(event, acknowledgment);
+        verifyNoInteractions(acknowledgment);
     }
 
     @Test
-    @DisplayName("Should send email but not update when registration not found")
-    void testConsumeWithMissingRegistration() throws InterruptedException {
-        when(registrationRepository.findById(1L)).thenReturn(Optional.empty());
-
-        consumer.consume(event);
+    @DisplayName("Should carry the correlation id header on the scheduled event")
+    void testConsumeKeepsCorrelationId() {
+        consumer.consume(event, acknowledgment, "corr-1".getBytes(StandardCharsets.UTF_8));
 
-        verify(emailService, times(1))
-                .sendRegistrationNotification(1L, "test@email.com");
-
-        verify(registrationRepository, never()).save(any());
+        verify(notificationScheduler).schedule(event, acknowledgment);
+        assertThat(event.getCorrelationId()).isEqualTo("corr-1");
     }
 
     @Test
-    @DisplayName("Should wait if event is too recent")
-    void testConsumeWithRecentEvent() throws InterruptedException {
-
-        ReflectionTestUtils.setField(consumer, "delayMillis", 3);
-
-        RegistrationCreatedEvent recentEvent = new RegistrationCreatedEvent(
-                2L,
-                "recent@email.com",
-                LocalDateTime.now()
-        );
-
-        when(registrationRepository.findById(2L)).thenReturn(Optional.empty());
-
-        long start = System.currentTimeMillis();
-        consumer.consume(recentEvent);
-        long end = System.currentTimeMillis();
+    @DisplayName("Should acknowledge a redelivered event that was already processed")
+    void testConsumeDropsRecentlyProcessedEvent() {
+        processedNotifications.addAll(List.of(1L));
 
-        assertThat(end - start).isGreaterThanOrEqualTo(2);
+        consumer.consume(event, acknowledgment, null);
 
-        verify(emailService).sendRegistrationNotification(2L, "recent@email.com");
+        verify(acknowledgment).acknowledge();
+        verifyNoInteractions(notificationScheduler);
+        assertThat(meterRegistry.get("notification.duplicates").tag("stage", "consumer").counter().count()).isEqualTo(1);
     }
 }
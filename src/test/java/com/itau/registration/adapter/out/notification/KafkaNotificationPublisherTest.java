@@ -1,20 +1,31 @@
 package com.itau.registration.adapter.out.notification;
 
 import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class KafkaNotificationPublisherTest {
@@ -22,7 +33,7 @@ class KafkaNotificationPublisherTest {
     @Mock
     private KafkaTemplate<String, RegistrationCreatedEvent> kafkaTemplate;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private KafkaNotificationPublisher publisher;
 
     private Long registrationId;
@@ -30,25 +41,120 @@ class KafkaNotificationPublisherTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new KafkaNotificationPublisher(kafkaTemplate, meterRegistry, 3, 0, 10);
         registrationId = 1L;
         email = "test@email.com";
     }
 
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+    }
+
     @Test
-    @DisplayName("Should publish registration created event to Kafka")
+    @DisplayName("Should publish registration created event to Kafka keyed by registration id")
     void testPublishRegistrationCreatedEvent() {
-        publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now());
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), "corr-1");
 
-        ArgumentCaptor<RegistrationCreatedEvent> eventCaptor = ArgumentCaptor.forClass(RegistrationCreatedEvent.class);
-        ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ProducerRecord<String, RegistrationCreatedEvent>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
 
-        verify(kafkaTemplate).send(topicCaptor.capture(), eventCaptor.capture());
+        verify(kafkaTemplate).send(recordCaptor.capture());
 
-        RegistrationCreatedEvent sentEvent = eventCaptor.getValue();
-        String topic = topicCaptor.getValue();
+        ProducerRecord<String, RegistrationCreatedEvent> record = recordCaptor.getValue();
+        RegistrationCreatedEvent sentEvent = record.value();
 
-        assertThat(topic).isEqualTo("notifications");
+        assertThat(record.topic()).isEqualTo("notifications");
+        assertThat(record.key()).isEqualTo("1");
         assertThat(sentEvent.getRegistrationId()).isEqualTo(registrationId);
         assertThat(sentEvent.getEmail()).isEqualTo(email);
+        assertThat(new String(record.headers().lastHeader("correlation_id").value(), StandardCharsets.UTF_8))
+                .isEqualTo("corr-1");
+    }
+
+    @Test
+    @DisplayName("Should not add a correlation header when there is no correlation id")
+    void testPublishWithoutCorrelationId() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), null);
+
+        ArgumentCaptor<ProducerRecord<String, RegistrationCreatedEvent>> recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        assertThat(recordCaptor.getValue().headers().lastHeader("correlation_id")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should time successful sends")
+    void testSuccessfulSendIsTimed() {
+        CompletableFuture<SendResult<String, RegistrationCreatedEvent>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+
+        CompletableFuture<?> result = publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), null);
+        future.complete(null);
+
+        assertThat(result).isCompleted();
+        assertThat(meterRegistry.get("kafka.send").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("kafka.send.failures").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fail without retrying on a non-retriable error")
+    void testNonRetriableFailureIsCounted() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("too large")));
+
+        CompletableFuture<?> result = publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), null);
+
+        assertThat(result).isCompletedExceptionally();
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(RegistrationCreatedEvent.class));
+        assertThat(meterRegistry.get("kafka.send").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kafka.send.failures").tag("exception", "RecordTooLargeException").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should re-send after a retriable error and complete on success")
+    void testRetriableFailureIsRetried() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<?> result = publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), null);
+
+        assertThat(result).succeedsWithin(1, TimeUnit.SECONDS);
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any(RegistrationCreatedEvent.class));
+        assertThat(meterRegistry.get("kafka.send.retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("kafka.send.failures").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should give up once the retry attempts are exhausted")
+    void testRetriableFailureGivesUpAfterMaxAttempts() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker unavailable")));
+
+        CompletableFuture<?> result = publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), null);
+
+        assertThat(result).failsWithin(1, TimeUnit.SECONDS);
+        verify(kafkaTemplate, times(3)).send(anyString(), anyString(), any(RegistrationCreatedEvent.class));
+        assertThat(meterRegistry.get("kafka.send.failures").tag("exception", "TimeoutException").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail right away when the retry buffer is full")
+    void testRetryBufferFull() {
+        publisher.stop();
+        publisher = new KafkaNotificationPublisher(kafkaTemplate, meterRegistry, 3, 0, 0);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker unavailable")));
+
+        CompletableFuture<?> result = publisher.publishRegistrationCreatedEvent(registrationId, email, LocalDateTime.now(), null);
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(meterRegistry.get("kafka.send.retry.rejected").counter().count()).isEqualTo(1);
     }
 }
@@ -0,0 +1,75 @@
+package com.itau.registration.adapter.out.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor(4, 8, new CustomizableThreadFactory("lane-"));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks for the same key in submission order")
+    void testSameKeyRunsInOrder() throws InterruptedException {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        int lane = executor.laneFor(42L);
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            executor.execute(lane, () -> {
+                order.add(value);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).isSorted().hasSize(100);
+    }
+
+    @Test
+    @DisplayName("Should run different lanes in parallel")
+    void testDifferentKeysRunInParallel() throws InterruptedException {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable task = () -> {
+            bothStarted.countDown();
+            try {
+                if (bothStarted.await(2, TimeUnit.SECONDS)) {
+                    done.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executor.execute(executor.laneFor(1L), task);
+        executor.execute(executor.laneFor(2L), task);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should map keys to lanes by id")
+    void testLaneFor() {
+        assertThat(executor.laneCount()).isEqualTo(4);
+        assertThat(executor.laneFor(5L)).isEqualTo(executor.laneFor(9L));
+        assertThat(executor.laneFor(5L)).isNotEqualTo(executor.laneFor(6L));
+        assertThat(executor.laneFor(null)).isZero();
+        assertThat(executor.laneFor(-3L)).isBetween(0, 3);
+    }
+}
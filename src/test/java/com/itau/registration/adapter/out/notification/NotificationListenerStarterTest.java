@@ -0,0 +1,39 @@
+package com.itau.registration.adapter.out.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import static org.mockito.Mockito.*;
+
+class NotificationListenerStarterTest {
+
+    private final KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private final NotificationListenerStarter starter = new NotificationListenerStarter(registry);
+
+    @Test
+    @DisplayName("Should start the listener once the application accepts traffic")
+    void testStartsWhenReady() {
+        when(registry.getListenerContainer(KafkaNotificationConsumer.LISTENER_ID)).thenReturn(container);
+
+        starter.onReadiness(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+
+        verify(container).start();
+    }
+
+    @Test
+    @DisplayName("Should leave the listener alone when the application refuses traffic or it already runs")
+    void testIgnoresOtherStates() {
+        when(registry.getListenerContainer(KafkaNotificationConsumer.LISTENER_ID)).thenReturn(container);
+
+        starter.onReadiness(new AvailabilityChangeEvent<>(this, ReadinessState.REFUSING_TRAFFIC));
+        when(container.isRunning()).thenReturn(true);
+        starter.onReadiness(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+
+        verify(container, never()).start();
+    }
+}
@@ -0,0 +1,165 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.cache.RegistrationCache;
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.adapter.out.stats.RegistrationStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationProcessorTest {
+
+    @Mock
+    private RegistrationRepository registrationRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private RegistrationCache registrationCache;
+
+    @Mock
+    private RegistrationStats registrationStats;
+
+    private final ProcessedNotifications processedNotifications = new ProcessedNotifications(100, 60);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new NotificationProcessor(registrationRepository, emailService, registrationCache,
+                processedNotifications, registrationStats, mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should claim all registrations in one update and send their emails")
+    void testProcessBatch() {
+        List<RegistrationCreatedEvent> events = List.of(
+                new RegistrationCreatedEvent(1L, "first@email.com", LocalDateTime.now().minusMinutes(5)),
+                new RegistrationCreatedEvent(2L, "second@email.com", LocalDateTime.now().minusMinutes(5))
+        );
+        when(registrationRepository.markProcessed(eq(Set.of(1L, 2L)), any(LocalDateTime.class))).thenReturn(List.of(1L, 2L));
+
+        processor.process(events);
+
+        verify(emailService, times(1)).sendRegistrationNotifications(events);
+        verify(registrationRepository, never()).markUnprocessed(any(), any());
+        verify(registrationRepository, never()).findById(any());
+        verify(registrationRepository, never()).save(any());
+        verify(registrationCache).evict(List.of(1L, 2L));
+        assertThat(processedNotifications.contains(1L)).isTrue();
+        assertThat(processedNotifications.contains(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip the email for registrations that were already processed")
+    void testProcessSkipsAlreadyProcessed() {
+        RegistrationCreatedEvent fresh = new RegistrationCreatedEvent(1L, "first@email.com", LocalDateTime.now().minusMinutes(5));
+        RegistrationCreatedEvent redelivered = new RegistrationCreatedEvent(2L, "second@email.com", LocalDateTime.now().minusMinutes(5));
+        RegistrationCreatedEvent duplicate = new RegistrationCreatedEvent(1L, "first@email.com", LocalDateTime.now().minusMinutes(5));
+        when(registrationRepository.markProcessed(eq(Set.of(1L, 2L)), any(LocalDateTime.class))).thenReturn(List.of(1L));
+
+        processor.process(List.of(fresh, redelivered, duplicate));
+
+        verify(emailService).sendRegistrationNotifications(List.of(fresh));
+        assertThat(meterRegistry.get("notification.duplicates").tag("stage", "database").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not send anything when every registration was already processed")
+    void testProcessAllDuplicates() {
+        RegistrationCreatedEvent redelivered = new RegistrationCreatedEvent(3L, "third@email.com", LocalDateTime.now().minusMinutes(5));
+        when(registrationRepository.markProcessed(eq(Set.of(3L)), any(LocalDateTime.class))).thenReturn(List.of());
+
+        processor.process(List.of(redelivered));
+
+        verifyNoInteractions(emailService);
+        assertThat(processedNotifications.contains(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should put undelivered registrations back to PROCESSING and report them")
+    void testProcessPartialFailure() {
+        RegistrationCreatedEvent delivered = new RegistrationCreatedEvent(1L, "first@email.com", LocalDateTime.now().minusMinutes(5));
+        RegistrationCreatedEvent failed = new RegistrationCreatedEvent(2L, "second@email.com", LocalDateTime.now().minusMinutes(5));
+        List<RegistrationCreatedEvent> events = List.of(delivered, failed);
+        when(registrationRepository.markProcessed(eq(Set.of(1L, 2L)), any(LocalDateTime.class))).thenReturn(List.of(1L, 2L));
+        when(emailService.sendRegistrationNotifications(events)).thenReturn(List.of(failed));
+        when(registrationRepository.markUnprocessed(eq(List.of(2L)), any(LocalDateTime.class))).thenReturn(List.of(2L));
+
+        assertThatThrownBy(() -> processor.process(events))
+                .isInstanceOf(NotificationDeliveryException.class)
+                .satisfies(e -> assertThat(((NotificationDeliveryException) e).getFailed()).containsExactly(failed));
+
+        verify(registrationRepository).markUnprocessed(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(registrationCache).evict(List.of(1L, 2L));
+        verify(registrationCache).evict(List.of(2L));
+        assertThat(processedNotifications.contains(1L)).isTrue();
+        assertThat(processedNotifications.contains(2L)).isFalse();
+        verify(registrationStats).statusChanged("PROCESSING", "PROCESSED", 2);
+        verify(registrationStats).statusChanged("PROCESSED", "PROCESSING", 1);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed release before claiming again instead of counting a duplicate")
+    void testFailedReleaseIsRetriedFirst() {
+        RegistrationCreatedEvent failed = new RegistrationCreatedEvent(2L, "second@email.com", LocalDateTime.now().minusMinutes(5));
+        when(registrationRepository.markProcessed(eq(Set.of(2L)), any(LocalDateTime.class))).thenReturn(List.of(2L));
+        when(emailService.sendRegistrationNotifications(List.of(failed))).thenReturn(List.of(failed), List.of());
+        when(registrationRepository.markUnprocessed(eq(List.of(2L)), any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("database down"))
+                .thenReturn(List.of(2L));
+
+        assertThatThrownBy(() -> processor.process(List.of(failed)))
+                .isInstanceOf(NotificationDeliveryException.class);
+        verify(registrationStats, never()).statusChanged("PROCESSED", "PROCESSING", 1);
+
+        processor.process(List.of(failed));
+
+        verify(registrationRepository, times(2)).markUnprocessed(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(registrationStats).statusChanged("PROCESSED", "PROCESSING", 1);
+        verify(emailService, times(2)).sendRegistrationNotifications(List.of(failed));
+        assertThat(meterRegistry.get("notification.duplicates").tag("stage", "database").counter().count()).isZero();
+        assertThat(processedNotifications.contains(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should mark registrations that ran out of attempts as NOTIFICATION_FAILED")
+    void testMarkFailed() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(4L, "fail@email.com", LocalDateTime.now().minusMinutes(5));
+        when(registrationRepository.markNotificationFailed(eq(Set.of(4L)), any(LocalDateTime.class))).thenReturn(List.of(4L));
+
+        assertThat(processor.markFailed(List.of(event, event))).containsExactly(4L);
+
+        verify(registrationStats).statusChanged("PROCESSING", "NOTIFICATION_FAILED", 1);
+        verify(registrationCache).evict(List.of(4L));
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    @DisplayName("Should do nothing for an empty batch")
+    void testProcessEmptyBatch() {
+        processor.process(List.of());
+
+        verifyNoInteractions(emailService, registrationRepository, registrationCache);
+    }
+}
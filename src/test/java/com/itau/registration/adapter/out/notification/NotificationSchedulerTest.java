@@ -0,0 +1,189 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+class NotificationSchedulerTest {
+
+    private final NotificationProcessor notificationProcessor = mock(NotificationProcessor.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationScheduler scheduler;
+
+    private NotificationScheduler startScheduler(long delayMillis, int maxAttempts) {
+        return startScheduler(delayMillis, maxAttempts, 1, 0);
+    }
+
+    private NotificationScheduler startScheduler(long delayMillis, int maxAttempts, int batchSize, long batchMaxWaitMillis) {
+        scheduler = new NotificationScheduler(notificationProcessor, meterRegistry, delayMillis, 2, 10, 1, maxAttempts,
+                batchSize, batchMaxWaitMillis, false);
+        scheduler.start();
+        return scheduler;
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    @DisplayName("Should process and acknowledge an overdue event right away")
+    void testOverdueEventIsProcessedImmediately() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(1L, "old@email.com", LocalDateTime.now().minusMinutes(5));
+
+        startScheduler(1_000, 3).schedule(event, acknowledgment);
+
+        verify(notificationProcessor, timeout(500)).process(List.of(event));
+        verify(acknowledgment, timeout(500)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should hold a recent event until its delay has elapsed")
+    void testRecentEventWaitsForDelay() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(2L, "recent@email.com", LocalDateTime.now());
+
+        long start = System.currentTimeMillis();
+        startScheduler(200, 3).schedule(event, acknowledgment);
+
+        verify(acknowledgment, timeout(2_000)).acknowledge();
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(150);
+        verify(notificationProcessor).process(List.of(event));
+    }
+
+    @Test
+    @DisplayName("Should not block the caller while events are waiting")
+    void testScheduleDoesNotBlock() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(3L, "later@email.com", LocalDateTime.now());
+
+        long start = System.currentTimeMillis();
+        startScheduler(60_000, 3).schedule(event, acknowledgment);
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(1_000);
+        assertThat(scheduler.pending()).isEqualTo(1);
+        verifyNoInteractions(notificationProcessor, acknowledgment);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed event and mark it failed before acknowledging it after the last attempt")
+    void testFailedEventIsRetriedThenMarkedFailed() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(4L, "fail@email.com", LocalDateTime.now().minusMinutes(5));
+        doThrow(new RuntimeException("smtp down")).when(notificationProcessor).process(List.of(event));
+
+        startScheduler(0, 3).schedule(event, acknowledgment);
+
+        verify(notificationProcessor, timeout(1_000).times(3)).process(List.of(event));
+        verify(notificationProcessor, timeout(1_000)).markFailed(List.of(event));
+        verify(acknowledgment, timeout(1_000)).acknowledge();
+        assertThat(meterRegistry.get("notification.dead-lettered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep an exhausted event unacknowledged while it cannot be marked failed")
+    void testExhaustedEventIsNotAcknowledgedWhenMarkingFails() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(6L, "fail@email.com", LocalDateTime.now().minusMinutes(5));
+        doThrow(new RuntimeException("smtp down")).when(notificationProcessor).process(List.of(event));
+        doThrow(new RuntimeException("database down")).when(notificationProcessor).markFailed(List.of(event));
+
+        startScheduler(0, 1).schedule(event, acknowledgment);
+
+        verify(notificationProcessor, timeout(1_000).atLeast(2)).markFailed(List.of(event));
+        verify(acknowledgment, never()).acknowledge();
+        assertThat(scheduler.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run workers on virtual threads when enabled")
+    void testVirtualThreadWorkers() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(7L, "virtual@email.com", LocalDateTime.now().minusMinutes(5));
+        AtomicBoolean ranOnVirtualThread = new AtomicBoolean();
+        doAnswer(inv -> {
+            ranOnVirtualThread.set(Thread.currentThread().isVirtual());
+            return null;
+        }).when(notificationProcessor).process(List.of(event));
+
+        scheduler = new NotificationScheduler(notificationProcessor, meterRegistry, 0, 2, 10, 1, 3, 1, 0, true);
+        scheduler.start();
+        scheduler.schedule(event, acknowledgment);
+
+        verify(acknowledgment, timeout(1_000)).acknowledge();
+        assertThat(ranOnVirtualThread).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should process due events of the same lane together in one batch")
+    void testDueEventsAreBatched() {
+        // 2 lanes: ids 5 and 7 share lane 1
+        RegistrationCreatedEvent first = new RegistrationCreatedEvent(5L, "first@email.com", LocalDateTime.now().minusMinutes(5));
+        RegistrationCreatedEvent second = new RegistrationCreatedEvent(7L, "second@email.com", LocalDateTime.now().minusMinutes(4));
+
+        startScheduler(1_000, 3, 10, 300);
+        scheduler.schedule(first, acknowledgment);
+        scheduler.schedule(second, acknowledgment);
+
+        verify(notificationProcessor, timeout(1_000)).process(List.of(first, second));
+        verify(acknowledgment, timeout(1_000).times(2)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should record the applied delay and expose the configured delay")
+    void testDelayMetrics() {
+        RegistrationCreatedEvent event = new RegistrationCreatedEvent(8L, "metrics@email.com", LocalDateTime.now().minusSeconds(3));
+
+        startScheduler(1_000, 3).schedule(event, acknowledgment);
+
+        verify(acknowledgment, timeout(1_000)).acknowledge();
+        assertThat(meterRegistry.get("notification.delay.configured").timeGauge().value(TimeUnit.MILLISECONDS)).isEqualTo(1_000);
+        assertThat(meterRegistry.get("notification.delay.applied").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.delay.applied").timer().max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Should split a batch across lanes by registration id")
+    void testBatchIsSplitByLane() {
+        RegistrationCreatedEvent even = new RegistrationCreatedEvent(10L, "even@email.com", LocalDateTime.now().minusMinutes(5));
+        RegistrationCreatedEvent odd = new RegistrationCreatedEvent(11L, "odd@email.com", LocalDateTime.now().minusMinutes(4));
+
+        startScheduler(1_000, 3, 10, 300);
+        scheduler.schedule(even, acknowledgment);
+        scheduler.schedule(odd, acknowledgment);
+
+        verify(notificationProcessor, timeout(1_000)).process(List.of(even));
+        verify(notificationProcessor, timeout(1_000)).process(List.of(odd));
+        verify(acknowledgment, timeout(1_000).times(2)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge delivered events and retry only the failed ones of a batch")
+    void testOnlyFailedEventsAreRetried() {
+        // 2 lanes: ids 13 and 15 share lane 1
+        RegistrationCreatedEvent delivered = new RegistrationCreatedEvent(13L, "ok@email.com", LocalDateTime.now().minusMinutes(5));
+        RegistrationCreatedEvent undelivered = new RegistrationCreatedEvent(15L, "bounce@email.com", LocalDateTime.now().minusMinutes(4));
+        Acknowledgment deliveredAck = mock(Acknowledgment.class);
+        doThrow(new NotificationDeliveryException(List.of(undelivered)))
+                .when(notificationProcessor).process(List.of(delivered, undelivered));
+
+        startScheduler(1_000, 3, 10, 300);
+        scheduler.schedule(delivered, deliveredAck);
+        scheduler.schedule(undelivered, acknowledgment);
+
+        verify(deliveredAck, timeout(1_000)).acknowledge();
+        verify(notificationProcessor, timeout(1_000)).process(List.of(undelivered));
+        verify(acknowledgment, timeout(1_000)).acknowledge();
+        verify(deliveredAck, times(1)).acknowledge();
+        await().atMost(Duration.ofSeconds(1)).until(() -> scheduler.inFlight() == 0);
+    }
+}
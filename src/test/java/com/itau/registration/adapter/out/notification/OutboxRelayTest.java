@@ -0,0 +1,123 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.persistence.OutboxEventRepository;
+import com.itau.registration.domain.model.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private KafkaNotificationPublisher notificationPublisher;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        notificationPublisher = mock(KafkaNotificationPublisher.class);
+        relay = new OutboxRelay(outboxEventRepository, notificationPublisher,
+                mock(PlatformTransactionManager.class), 3, 300, 3, 50);
+    }
+
+    private OutboxEvent outboxEvent(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .registrationId(id * 10)
+                .email("user" + id + "@email.com")
+                .registrationCreatedAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should send every row and delete the batch once all sends succeed")
+    void testRelayDeletesSentRows() {
+        when(outboxEventRepository.leaseNextBatch(eq(3), anyLong()))
+                .thenReturn(List.of(outboxEvent(1), outboxEvent(2)));
+        when(notificationPublisher.publishRegistrationCreatedEvent(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(notificationPublisher, times(2)).publishRegistrationCreatedEvent(any(), any(), any(), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).releaseLease(List.of());
+        verify(outboxEventRepository, times(1)).leaseNextBatch(anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep the failed row and everything after it")
+    void testRelayStopsAtFirstFailure() {
+        OutboxEvent first = outboxEvent(1);
+        OutboxEvent second = outboxEvent(2);
+        OutboxEvent third = outboxEvent(3);
+        when(outboxEventRepository.leaseNextBatch(eq(3), anyLong())).thenReturn(List.of(first, second, third));
+        when(notificationPublisher.publishRegistrationCreatedEvent(eq(10L), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(notificationPublisher.publishRegistrationCreatedEvent(eq(20L), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        when(notificationPublisher.publishRegistrationCreatedEvent(eq(30L), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository).releaseLease(List.of(2L, 3L));
+        verify(outboxEventRepository, times(1)).leaseNextBatch(anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep draining while full batches are sent")
+    void testRelayDrainsFullBatches() {
+        when(outboxEventRepository.leaseNextBatch(eq(3), anyLong()))
+                .thenReturn(List.of(outboxEvent(1), outboxEvent(2), outboxEvent(3)))
+                .thenReturn(List.of());
+        when(notificationPublisher.publishRegistrationCreatedEvent(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(outboxEventRepository, times(2)).leaseNextBatch(eq(3), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the outbox is empty")
+    void testRelayWithEmptyOutbox() {
+        when(outboxEventRepository.leaseNextBatch(eq(3), anyLong())).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(notificationPublisher);
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should lease for longer than a batch waits for its sends")
+    void testLeaseOutlivesTheSends() {
+        when(outboxEventRepository.leaseNextBatch(eq(3), anyLong())).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxEventRepository).leaseNextBatch(eq(3), eq(2 * OutboxRelay.sendTimeoutMillis(300, 3, 50)));
+    }
+
+    @Test
+    @DisplayName("Should wait for every publish attempt and its backoff before giving up on a send")
+    void testSendTimeoutCoversPublishRetries() {
+        assertThat(OutboxRelay.sendTimeoutMillis(15_000, 3, 200)).isEqualTo(46_600);
+        assertThat(OutboxRelay.sendTimeoutMillis(15_000, 1, 200)).isEqualTo(16_000);
+    }
+}
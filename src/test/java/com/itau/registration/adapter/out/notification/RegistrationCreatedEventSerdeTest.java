@@ -0,0 +1,103 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegistrationCreatedEventSerdeTest {
+
+    private static final String TOPIC = "notifications";
+
+    private final RegistrationCreatedEventDeserializer deserializer = new RegistrationCreatedEventDeserializer();
+    private final RegistrationCreatedEvent event =
+            new RegistrationCreatedEvent(42L, "rosângela@email.com", LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000));
+
+    @Test
+    @DisplayName("Should round-trip an event through the binary format")
+    void testBinaryRoundTrip() {
+        byte[] payload = binarySerializer().serialize(TOPIC, new RecordHeaders(), event);
+
+        RegistrationCreatedEvent decoded = deserializer.deserialize(TOPIC, new RecordHeaders(), payload);
+
+        assertThat(payload[0]).isEqualTo(RegistrationCreatedEventBinaryFormat.VERSION_1);
+        assertThat(decoded.getRegistrationId()).isEqualTo(42L);
+        assertThat(decoded.getEmail()).isEqualTo("rosângela@email.com");
+        assertThat(decoded.getCreatedAt()).isEqualTo(event.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should keep null fields null")
+    void testBinaryRoundTripWithNulls() {
+        byte[] payload = binarySerializer().serialize(TOPIC, new RegistrationCreatedEvent(7L, null, null));
+
+        RegistrationCreatedEvent decoded = deserializer.deserialize(TOPIC, payload);
+
+        assertThat(decoded.getRegistrationId()).isEqualTo(7L);
+        assertThat(decoded.getEmail()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read JSON records written by the previous serializer")
+    void testJsonRecordsAreStillRead() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] payload = new JsonSerializer<RegistrationCreatedEvent>().serialize(TOPIC, headers, event);
+
+        RegistrationCreatedEvent decoded = deserializer.deserialize(TOPIC, headers, payload);
+
+        assertThat(decoded.getRegistrationId()).isEqualTo(42L);
+        assertThat(decoded.getEmail()).isEqualTo("rosângela@email.com");
+        assertThat(decoded.getCreatedAt()).isEqualTo(event.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should write JSON with type headers when configured for json")
+    void testJsonFormatIsConfigurable() {
+        RegistrationCreatedEventSerializer serializer = new RegistrationCreatedEventSerializer();
+        serializer.configure(Map.of(RegistrationCreatedEventSerializer.FORMAT_CONFIG, "json"), false);
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] payload = serializer.serialize(TOPIC, headers, event);
+
+        assertThat(payload[0]).isEqualTo((byte) '{');
+        assertThat(headers.lastHeader("__TypeId__")).isNotNull();
+        assertThat(deserializer.deserialize(TOPIC, headers, payload).getRegistrationId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should produce records less than half the size of the JSON payload")
+    void testBinaryIsSmallerThanJson() {
+        byte[] json = new JsonSerializer<RegistrationCreatedEvent>().serialize(TOPIC, new RecordHeaders(), event);
+        byte[] binary = binarySerializer().serialize(TOPIC, event);
+
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown versions and truncated records")
+    void testMalformedRecordsAreRejected() {
+        byte[] payload = binarySerializer().serialize(TOPIC, event);
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 3);
+        byte[] unknownVersion = payload.clone();
+        unknownVersion[0] = 0x7F;
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, truncated)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, unknownVersion)).isInstanceOf(SerializationException.class);
+    }
+
+    private RegistrationCreatedEventSerializer binarySerializer() {
+        RegistrationCreatedEventSerializer serializer = new RegistrationCreatedEventSerializer();
+        serializer.configure(Map.of(), false);
+        return serializer;
+    }
+}
@@ -0,0 +1,64 @@
+package com.itau.registration.adapter.out.notification;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.itau.registration.adapter.out.model.RegistrationCreatedEvent;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpEmailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private SmtpEmailSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        sender = new SmtpEmailSender(mailSender, "no-reply@registration.local", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver every message of a session over the SMTP server")
+    void testSessionDeliversMessages() throws Exception {
+        try (EmailSender.Session session = sender.openSession()) {
+            session.send(new RegistrationCreatedEvent(1L, "first@email.com", LocalDateTime.now()));
+            session.send(new RegistrationCreatedEvent(2L, "second@email.com", LocalDateTime.now()));
+        }
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("first@email.com");
+        assertThat(received[1].getContent().toString()).contains("2");
+    }
+
+    @Test
+    @DisplayName("Should reuse the pooled connection for the next session")
+    void testConnectionIsReused() throws Exception {
+        try (EmailSender.Session session = sender.openSession()) {
+            session.send(new RegistrationCreatedEvent(3L, "third@email.com", LocalDateTime.now()));
+        }
+        try (EmailSender.Session session = sender.openSession()) {
+            session.send(new RegistrationCreatedEvent(4L, "fourth@email.com", LocalDateTime.now()));
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+    }
+}
@@ -0,0 +1,73 @@
+package com.itau.registration.adapter.out.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    // 10 requests per second, bursts of 5
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(10, 5, 3, clock::get);
+
+    @Test
+    @DisplayName("Should allow a burst and then reject until a token is refilled")
+    void testBurstThenReject() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryAcquire("ip:1")).isZero();
+        }
+
+        assertThat(store.tryAcquire("ip:1")).isEqualTo(SECOND / 10);
+
+        clock.addAndGet(SECOND / 10);
+        assertThat(store.tryAcquire("ip:1")).isZero();
+        assertThat(store.tryAcquire("ip:1")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep a separate budget per client")
+    void testClientsAreIndependent() {
+        for (int i = 0; i < 5; i++) {
+            store.tryAcquire("ip:1");
+        }
+
+        assertThat(store.tryAcquire("ip:1")).isPositive();
+        assertThat(store.tryAcquire("ip:2")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict buckets that have refilled")
+    void testEvictsIdleBuckets() {
+        store.tryAcquire("ip:1");
+        for (int i = 0; i < 5; i++) {
+            store.tryAcquire("ip:2");
+        }
+
+        clock.addAndGet(SECOND / 10);
+        store.evictIdle();
+
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should put new clients in a shared bucket once the map is full")
+    void testOverflowBucket() {
+        store.tryAcquire("ip:1");
+        store.tryAcquire("ip:2");
+        store.tryAcquire("ip:3");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryAcquire("ip:overflow-" + i)).isZero();
+        }
+
+        assertThat(store.tryAcquire("ip:overflow-5")).isPositive();
+        assertThat(store.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,100 @@
+package com.itau.registration.adapter.out.stats;
+
+import com.itau.registration.adapter.out.persistence.RegistrationCount;
+import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.application.dto.RegistrationStatsResponse;
+import com.itau.registration.domain.model.Registration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RegistrationStatsTest {
+
+    private RegistrationRepository registrationRepository;
+    private RegistrationStats stats;
+
+    @BeforeEach
+    void setUp() {
+        registrationRepository = mock(RegistrationRepository.class);
+        when(registrationRepository.countByDimension()).thenReturn(List.of(
+                new RegistrationCount(RegistrationCount.TOTAL, null, 3),
+                new RegistrationCount(RegistrationCount.STATUS, "PROCESSING", 1),
+                new RegistrationCount(RegistrationCount.STATUS, "PROCESSED", 2),
+                new RegistrationCount(RegistrationCount.COUNTRY_CODE, "BR", 2),
+                new RegistrationCount(RegistrationCount.COUNTRY_CODE, "US", 1),
+                new RegistrationCount(RegistrationCount.AGE, "20", 1),
+                new RegistrationCount(RegistrationCount.AGE, "24", 1),
+                new RegistrationCount(RegistrationCount.AGE, "70", 1)));
+        when(registrationRepository.countArchived()).thenReturn(5L);
+        stats = new RegistrationStats(registrationRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("The first read counts the table once and later reads are served from memory")
+    void reconcilesOnFirstRead() {
+        stats.snapshot();
+        RegistrationStatsResponse response = stats.snapshot();
+
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getArchived()).isEqualTo(5);
+        assertThat(response.getByStatus()).isEqualTo(Map.of("PROCESSING", 1L, "PROCESSED", 2L));
+        assertThat(response.getByCountryCode()).isEqualTo(Map.of("BR", 2L, "US", 1L));
+        assertThat(response.getByAgeBand()).isEqualTo(Map.of("18-24", 2L, "65+", 1L));
+        assertThat(response.getReconciledAt()).isNotNull();
+        verify(registrationRepository, times(1)).countByDimension();
+    }
+
+    @Test
+    @DisplayName("Writes move the counters incrementally")
+    void appliesDeltas() {
+        stats.reconcile();
+        Registration created = registration(10L, "PROCESSING", "AR", 40);
+
+        stats.created(created);
+        stats.statusChanged("PROCESSING", "PROCESSED", 2);
+        stats.updated(registration(10L, "PROCESSING", "BR", 30), 40, "AR");
+        stats.deleted(registration(11L, "PROCESSED", "US", 70));
+        stats.archived(List.of(registration(12L, "PROCESSED", "BR", 20)));
+
+        RegistrationStatsResponse response = stats.snapshot();
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getArchived()).isEqualTo(6);
+        assertThat(response.getByStatus()).isEqualTo(Map.of("PROCESSED", 2L));
+        assertThat(response.getByCountryCode()).isEqualTo(Map.of("BR", 2L));
+        assertThat(response.getByAgeBand()).isEqualTo(Map.of("18-24", 1L, "25-34", 1L));
+    }
+
+    @Test
+    @DisplayName("Reconciliation replaces drifted counters with the database counts")
+    void reconciliationCorrectsDrift() {
+        stats.reconcile();
+        stats.created(registration(10L, "PROCESSING", "BR", 30));
+
+        stats.reconcile();
+
+        assertThat(stats.snapshot().getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Ages are grouped in bands and a missing age is reported as UNKNOWN")
+    void ageBands() {
+        assertThat(RegistrationStats.ageBand(null)).isEqualTo("UNKNOWN");
+        assertThat(RegistrationStats.ageBand(0)).isEqualTo("0-17");
+        assertThat(RegistrationStats.ageBand(17)).isEqualTo("0-17");
+        assertThat(RegistrationStats.ageBand(18)).isEqualTo("18-24");
+        assertThat(RegistrationStats.ageBand(35)).isEqualTo("35-44");
+        assertThat(RegistrationStats.ageBand(64)).isEqualTo("55-64");
+        assertThat(RegistrationStats.ageBand(65)).isEqualTo("65+");
+    }
+
+    private static Registration registration(Long id, String status, String countryCode, Integer age) {
+        return Registration.builder().id(id).status(status).countryCode(countryCode).age(age).build();
+    }
+}
@@ -1,18 +1,41 @@
 package com.itau.registration.application.service.impl;
 
-import com.itau.registration.adapter.out.notification.KafkaNotificationPublisher;
+import com.itau.registration.adapter.out.archive.RegistrationArchive;
+import com.itau.registration.adapter.out.cache.CaffeineRegistrationCacheTier;
+import com.itau.registration.adapter.out.cache.KnownEmailFilter;
+import com.itau.registration.adapter.out.cache.RegistrationCache;
+import com.itau.registration.adapter.out.persistence.OutboxEventRepository;
 import com.itau.registration.adapter.out.persistence.RegistrationRepository;
+import com.itau.registration.adapter.out.persistence.RegistrationUpdate;
+import com.itau.registration.adapter.out.stats.RegistrationStats;
+import com.itau.registration.application.dto.BulkRegistrationResponse;
+import com.itau.registration.application.dto.RegistrationPage;
 import com.itau.registration.application.dto.RegistrationRequest;
 import com.itau.registration.application.dto.RegistrationResponse;
+import com.itau.registration.application.dto.RegistrationSearchCriteria;
+import com.itau.registration.application.exception.EmailAlreadyExistsException;
+import com.itau.registration.application.exception.InvalidCursorException;
+import com.itau.registration.application.exception.InvalidRequestException;
+import com.itau.registration.application.exception.RegistrationVersionMismatchException;
+import com.itau.registration.domain.model.OutboxEvent;
 import com.itau.registration.domain.model.Registration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,18 +44,33 @@ import static org.mockito.Mockito.*;
 class RegistrationServiceImplTest {
 
     private RegistrationRepository registrationRepository;
-    private KafkaNotificationPublisher notificationPublisher;
+    private OutboxEventRepository outboxEventRepository;
+    private RegistrationCache registrationCache;
+    private KnownEmailFilter knownEmailFilter;
+    private RegistrationArchive registrationArchive;
+    private RegistrationStats registrationStats;
     private RegistrationServiceImpl registrationService;
 
     @BeforeEach
     void setUp() {
         registrationRepository = mock(RegistrationRepository.class);
-        notificationPublisher = mock(KafkaNotificationPublisher.class);
-        registrationService = new RegistrationServiceImpl(registrationRepository, notificationPublisher);
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        registrationCache = new RegistrationCache(List.of(new CaffeineRegistrationCacheTier(new SimpleMeterRegistry(), 100, 60)));
+        knownEmailFilter = mock(KnownEmailFilter.class);
+        registrationArchive = mock(RegistrationArchive.class);
+        registrationStats = mock(RegistrationStats.class);
+        registrationService = new RegistrationServiceImpl(registrationRepository, outboxEventRepository, registrationCache, knownEmailFilter,
+                registrationArchive, registrationStats,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(registrationService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(registrationService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(registrationService, "streamFetchSize", 1000);
+        ReflectionTestUtils.setField(registrationService, "bulkChunkSize", 2);
     }
 
     @Test
-    void testCreateRegistration_ShouldSaveAndPublishNotification() {
+    void testCreateRegistration_ShouldSaveAndWriteOutboxEvent() {
         RegistrationRequest request = new RegistrationRequest("Rosangela", "Shigenari", "rosangela@gmail.com", 20, "BR");
 
         Registration saved = Registration.builder()
@@ -56,33 +94,186 @@ class RegistrationServiceImplTest {
         assertEquals("New registration is processing.", response.getMessage());
 
         verify(registrationRepository, times(1)).save(any(Registration.class));
-        verify(notificationPublisher, times(1)).publishRegistrationCreatedEvent(1L, "rosangela@gmail.com", saved.getCreatedAt());
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(outboxCaptor.capture());
+        assertEquals(1L, outboxCaptor.getValue().getRegistrationId());
+        assertEquals("rosangela@gmail.com", outboxCaptor.getValue().getEmail());
+        assertEquals(saved.getCreatedAt(), outboxCaptor.getValue().getRegistrationCreatedAt());
+        verify(registrationStats).created(saved);
+    }
+
+    @Test
+    void testCreateRegistration_ShouldSkipDuplicateQueryForUnknownEmail() {
+        RegistrationRequest request = new RegistrationRequest("Rosangela", "Shigenari", "new@gmail.com", 20, "BR");
+        when(registrationRepository.save(any(Registration.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        registrationService.createRegistration(request);
+
+        verify(registrationRepository, never()).emailExists(anyString());
+        verify(knownEmailFilter).add("new@gmail.com");
+    }
+
+    @Test
+    void testCreateRegistration_ShouldRejectKnownEmailBeforeInsert() {
+        RegistrationRequest request = new RegistrationRequest("Rosangela", "Shigenari", "Taken@gmail.com", 20, "BR");
+        when(knownEmailFilter.mightContain("Taken@gmail.com")).thenReturn(true);
+        when(registrationRepository.emailExists("Taken@gmail.com")).thenReturn(true);
+
+        assertThrows(EmailAlreadyExistsException.class, () -> registrationService.createRegistration(request));
+
+        verify(registrationRepository, never()).save(any());
+        verifyNoInteractions(outboxEventRepository);
+    }
+
+    @Test
+    void testCreateRegistration_ShouldInsertOnFilterFalsePositive() {
+        RegistrationRequest request = new RegistrationRequest("Rosangela", "Shigenari", "free@gmail.com", 20, "BR");
+        when(knownEmailFilter.mightContain("free@gmail.com")).thenReturn(true);
+        when(registrationRepository.emailExists("free@gmail.com")).thenReturn(false);
+        when(registrationRepository.save(any(Registration.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        registrationService.createRegistration(request);
+
+        verify(registrationRepository).save(any(Registration.class));
+    }
+
+    @Test
+    void testImportRegistrations_ShouldInsertInChunksAndReportErrors() {
+        List<RegistrationRequest> requests = List.of(
+                new RegistrationRequest("Ana", "Silva", "ana@email.com", 30, "BR"),
+                new RegistrationRequest("Bia", "Souza", "not-an-email", 25, "BR"),
+                new RegistrationRequest("Caio", "Lima", "caio@email.com", 41, "BR"),
+                new RegistrationRequest("Duda", "Reis", "ana@email.com", 19, "BR")
+        );
+        when(registrationRepository.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            List<Registration> chunk = inv.getArgument(0);
+            int[] counts = new int[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(100L + i);
+                counts[i] = "ana@email.com".equals(chunk.get(i).getEmail()) && chunk.get(i).getFirstName().equals("Duda") ? 0 : 1;
+            }
+            return counts;
+        });
+
+        BulkRegistrationResponse result = registrationService.importRegistrations(requests.iterator());
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals("Email should be valid", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getIndex());
+        assertEquals("Email already exists", result.getErrors().get(1).getMessage());
+
+        verify(registrationRepository, times(2)).insertIgnoringDuplicates(anyList());
+        verify(registrationRepository, never()).save(any());
+
+        ArgumentCaptor<List<OutboxEvent>> outboxCaptor = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository, times(2)).insertAll(outboxCaptor.capture());
+        assertEquals(2, outboxCaptor.getAllValues().get(0).size());
+        assertEquals(0, outboxCaptor.getAllValues().get(1).size());
+    }
+
+    @Test
+    void testImportRegistrations_ShouldReportNullRecords() {
+        List<RegistrationRequest> requests = Arrays.asList(
+                null,
+                new RegistrationRequest("Ana", "Silva", "ana@email.com", 30, "BR"));
+        when(registrationRepository.insertIgnoringDuplicates(anyList())).thenReturn(new int[]{1});
+
+        BulkRegistrationResponse result = registrationService.importRegistrations(requests.iterator());
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(0, result.getErrors().get(0).getIndex());
+        assertEquals("Record must be an object", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testImportRegistrations_ShouldStopAtMalformedRecord() {
+        Iterator<RegistrationRequest> requests = new Iterator<>() {
+            private int calls;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public RegistrationRequest next() {
+                if (calls++ == 0) {
+                    return new RegistrationRequest("Ana", "Silva", "ana@email.com", 30, "BR");
+                }
+                throw new IllegalStateException("Unexpected token");
+            }
+        };
+        when(registrationRepository.insertIgnoringDuplicates(anyList())).thenReturn(new int[]{1});
+
+        BulkRegistrationResponse result = registrationService.importRegistrations(requests);
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals("Malformed record, import stopped", result.getErrors().get(0).getMessage());
     }
 
     @Test
     void testGetRegistration_ShouldReturnRegistration_WhenExists() {
-        Registration reg = Registration.builder()
-                .id(2L)
-                .firstName("myFirstName")
-                .lastName("myLastName")
-                .email("test_123@gmail.com")
-                .age(25)
-                .countryCode("DE")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
+        RegistrationResponse reg = new RegistrationResponse(2L, "myFirstName", "myLastName", "test_123@gmail.com", 25, "DE",
+                LocalDateTime.now(), LocalDateTime.now(), 0L, "Registration retrieved.");
 
-        when(registrationRepository.findById(2L)).thenReturn(Optional.of(reg));
+        when(registrationRepository.findResponseById(2L)).thenReturn(Optional.of(reg));
 
         Optional<RegistrationResponse> result = registrationService.getRegistration(2L);
 
         assertTrue(result.isPresent());
         assertEquals("myFirstName", result.get().getFirstName());
+        assertEquals("Registration retrieved.", result.get().getMessage());
+        verify(registrationRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetRegistration_ShouldServeRepeatedReadsFromCache() {
+        when(registrationRepository.findResponseById(5L)).thenReturn(Optional.of(response(5L, "Cached")));
+
+        registrationService.getRegistration(5L);
+        Optional<RegistrationResponse> result = registrationService.getRegistration(5L);
+
+        assertTrue(result.isPresent());
+        assertEquals("Cached", result.get().getFirstName());
+        verify(registrationRepository, times(1)).findResponseById(5L);
+    }
+
+    @Test
+    void testDeleteRegistration_ShouldInvalidateCachedEntry() {
+        when(registrationRepository.findResponseById(6L)).thenReturn(Optional.of(response(6L, "Gone")));
+        when(registrationRepository.deleteRegistrationById(6L)).thenReturn(Optional.of(Registration.builder().id(6L).build()));
+
+        registrationService.getRegistration(6L);
+        registrationService.deleteRegistration(6L);
+        registrationService.getRegistration(6L);
+
+        verify(registrationRepository, times(2)).findResponseById(6L);
+    }
+
+    @Test
+    void testGetRegistration_ShouldFallBackToArchive_WhenNotInTable() {
+        Registration archived = Registration.builder().id(8L).firstName("Archived").email("old@gmail.com")
+                .status("PROCESSED").createdAt(LocalDateTime.of(2024, 1, 10, 9, 0)).version(3L).build();
+        when(registrationRepository.findResponseById(8L)).thenReturn(Optional.empty());
+        when(registrationArchive.find(8L)).thenReturn(Optional.of(archived));
+
+        Optional<RegistrationResponse> result = registrationService.getRegistration(8L);
+
+        assertTrue(result.isPresent());
+        assertEquals("Archived", result.get().getFirstName());
+        assertEquals(3L, result.get().getVersion());
+        assertEquals("Registration retrieved.", result.get().getMessage());
     }
 
     @Test
     void testGetRegistration_ShouldReturnEmpty_WhenNotExists() {
-        when(registrationRepository.findById(99L)).thenReturn(Optional.empty());
+        when(registrationRepository.findResponseById(99L)).thenReturn(Optional.empty());
 
         Optional<RegistrationResponse> result = registrationService.getRegistration(99L);
 
@@ -90,31 +281,115 @@ class RegistrationServiceImplTest {
     }
 
     @Test
-    void testGetAllRegistrations_ShouldReturnList() {
-        Registration reg1 = Registration.builder().id(1L).firstName("Rosangela").build();
-        Registration reg2 = Registration.builder().id(2L).firstName("Maria").build();
+    void testGetRegistrations_ShouldReturnLastPageWithoutCursor() {
+        RegistrationResponse reg1 = response(1L, "Rosangela");
+        RegistrationResponse reg2 = response(2L, "Maria");
 
-        when(registrationRepository.findAll()).thenReturn(Arrays.asList(reg1, reg2));
+        when(registrationRepository.findResponsesByIdGreaterThan(0L, PageRequest.ofSize(51)))
+                .thenReturn(Arrays.asList(reg1, reg2));
 
-        List<RegistrationResponse> result = registrationService.getAllRegistrations();
+        RegistrationPage result = registrationService.getRegistrations(null, null);
 
-        assertEquals(2, result.size());
-        assertEquals("Rosangela", result.get(0).getFirstName());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Rosangela", result.getItems().get(0).getFirstName());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    void testUpdateRegistration_ShouldUpdateFields() {
-        Registration existing = Registration.builder()
-                .id(3L)
-                .firstName("Old")
-                .lastName("")
-                .email("old@example.com")
-                .age(40)
-                .countryCode("BR")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .updatedAt(LocalDateTime.now().minusDays(1))
+    void testGetRegistrations_ShouldReturnCursorWhenMoreRowsExist() {
+        RegistrationResponse reg1 = response(1L, "Rosangela");
+        RegistrationResponse reg2 = response(2L, "Maria");
+
+        when(registrationRepository.findResponsesByIdGreaterThan(0L, PageRequest.ofSize(2)))
+                .thenReturn(Arrays.asList(reg1, reg2));
+
+        RegistrationPage firstPage = registrationService.getRegistrations(null, 1);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        when(registrationRepository.findResponsesByIdGreaterThan(1L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(reg2));
+
+        RegistrationPage secondPage = registrationService.getRegistrations(firstPage.getNextCursor(), 1);
+
+        assertEquals("Maria", secondPage.getItems().get(0).getFirstName());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testGetRegistrations_ShouldCapPageSize() {
+        when(registrationRepository.findResponsesByIdGreaterThan(0L, PageRequest.ofSize(501))).thenReturn(List.of());
+
+        RegistrationPage result = registrationService.getRegistrations(null, 10_000);
+
+        assertTrue(result.getItems().isEmpty());
+        verify(registrationRepository).findResponsesByIdGreaterThan(0L, PageRequest.ofSize(501));
+    }
+
+    @Test
+    void testGetRegistrations_ShouldRejectInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> registrationService.getRegistrations("%%%", null));
+    }
+
+    @Test
+    void testSearchRegistrations_ShouldPageByCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Registration reg1 = Registration.builder().id(1L).firstName("Rosangela").createdAt(createdAt).build();
+        Registration reg2 = Registration.builder().id(2L).firstName("Maria").createdAt(createdAt).build();
+        RegistrationSearchCriteria criteria = RegistrationSearchCriteria.builder().countryCode("BR").build();
+
+        when(registrationRepository.search(criteria, null, null, 2)).thenReturn(Arrays.asList(reg1, reg2));
+
+        RegistrationPage firstPage = registrationService.searchRegistrations(criteria, null, 1);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        when(registrationRepository.search(criteria, createdAt, 1L, 2)).thenReturn(List.of(reg2));
+
+        RegistrationPage secondPage = registrationService.searchRegistrations(criteria, firstPage.getNextCursor(), 1);
+
+        assertEquals("Maria", secondPage.getItems().get(0).getFirstName());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testSearchRegistrations_ShouldRequireAnIndexedFilter() {
+        RegistrationSearchCriteria criteria = RegistrationSearchCriteria.builder()
+                .createdFrom(LocalDateTime.now().minusDays(1))
                 .build();
 
+        assertThrows(InvalidRequestException.class, () -> registrationService.searchRegistrations(criteria, null, null));
+        verifyNoInteractions(registrationRepository);
+    }
+
+    @Test
+    void testSearchRegistrations_ShouldRejectInvalidCursor() {
+        RegistrationSearchCriteria criteria = RegistrationSearchCriteria.builder().status("PROCESSING").build();
+
+        assertThrows(InvalidCursorException.class,
+                () -> registrationService.searchRegistrations(criteria, RegistrationCursor.encode(5L), null));
+    }
+
+    @Test
+    void testStreamRegistrations_ShouldMapEachRow() {
+        Registration reg1 = Registration.builder().id(1L).firstName("Rosangela").status("PROCESSED").build();
+        doAnswer(inv -> {
+            Consumer<Registration> consumer = inv.getArgument(1);
+            consumer.accept(reg1);
+            return null;
+        }).when(registrationRepository).streamAll(eq(1000), any());
+
+        List<RegistrationResponse> streamed = new ArrayList<>();
+        registrationService.streamRegistrations(streamed::add);
+
+        assertEquals(1, streamed.size());
+        assertEquals("PROCESSED", streamed.get(0).getMessage());
+    }
+
+    @Test
+    void testUpdateRegistration_ShouldUpdateFields() {
         Registration updated = Registration.builder()
                 .id(3L)
                 .firstName("New")
@@ -122,70 +397,112 @@ class RegistrationServiceImplTest {
                 .email("new@example.com")
                 .age(41)
                 .countryCode("US")
-                .createdAt(existing.getCreatedAt())
+                .createdAt(LocalDateTime.now().minusDays(1))
                 .updatedAt(LocalDateTime.now())
+                .version(1L)
                 .build();
 
-        when(registrationRepository.findById(3L)).thenReturn(Optional.of(existing));
-        when(registrationRepository.save(any(Registration.class))).thenReturn(updated);
-
         RegistrationRequest request = new RegistrationRequest("New", null, "new@example.com", 41, "US");
-        Optional<RegistrationResponse> result = registrationService.updateRegistration(3L, request);
+        when(registrationRepository.updateNonNullFields(eq(3L), eq(request), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new RegistrationUpdate(updated, 40, "BR")));
+
+        Optional<RegistrationResponse> result = registrationService.updateRegistration(3L, request, null);
 
         assertTrue(result.isPresent());
         assertEquals("New", result.get().getFirstName());
         assertEquals("new@example.com", result.get().getEmail());
+        assertEquals(1L, result.get().getVersion());
+        verify(registrationRepository, never()).findById(any());
+        verify(registrationRepository, never()).save(any());
+        verify(knownEmailFilter).add("new@example.com");
+        verify(registrationStats).updated(updated, 40, "BR");
     }
 
     @Test
-    void shouldNotUpdateFieldsWhenRequestValuesAreNull() {
+    void testUpdateRegistration_ShouldInvalidateCachedEntry() {
+        when(registrationRepository.findResponseById(7L)).thenReturn(Optional.of(response(7L, "Before")));
+        when(registrationRepository.updateNonNullFields(eq(7L), any(), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new RegistrationUpdate(Registration.builder().id(7L).firstName("After").build(), null, null)));
 
-        Registration existing = new Registration();
-        existing.setId(2L);
-        existing.setFirstName("KeepFirst");
-        existing.setLastName("KeepLast");
-        existing.setEmail("keep@email.com");
-        existing.setAge(40);
-        existing.setCountryCode("CA");
+        registrationService.getRegistration(7L);
+        registrationService.updateRegistration(7L, new RegistrationRequest(), null);
+        registrationService.getRegistration(7L);
 
-        when(registrationRepository.findById(2L)).thenReturn(Optional.of(existing));
-        when(registrationRepository.save(any(Registration.class))).thenAnswer(inv -> inv.getArgument(0));
+        verify(registrationRepository, times(2)).findResponseById(7L);
+    }
+
+    @Test
+    void testUpdateRegistration_ShouldReturnEmpty_WhenNotExists() {
+        when(registrationRepository.updateNonNullFields(eq(100L), any(), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
-        RegistrationRequest request = new RegistrationRequest();
+        Optional<RegistrationResponse> result = registrationService.updateRegistration(100L, new RegistrationRequest(), null);
 
-        Optional<RegistrationResponse> result = registrationService.updateRegistration(2L, request);
+        assertFalse(result.isPresent());
+        verify(registrationRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testUpdateRegistration_ShouldThrow_WhenVersionIsStale() {
+        when(registrationRepository.updateNonNullFields(eq(8L), any(), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(registrationRepository.existsById(8L)).thenReturn(true);
 
-        assertThat(result).isPresent();
+        assertThrows(RegistrationVersionMismatchException.class,
+                () -> registrationService.updateRegistration(8L, new RegistrationRequest(), 2L));
+    }
 
-        ArgumentCaptor<Registration> captor = ArgumentCaptor.forClass(Registration.class);
-        verify(registrationRepository).save(captor.capture());
+    @Test
+    void testUpdateRegistration_ShouldReturnEmpty_WhenVersionedTargetNotExists() {
+        when(registrationRepository.updateNonNullFields(eq(9L), any(), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(registrationRepository.existsById(9L)).thenReturn(false);
 
-        Registration saved = captor.getValue();
-        assertThat(saved.getFirstName()).isEqualTo("KeepFirst");
-        assertThat(saved.getLastName()).isEqualTo("KeepLast");
-        assertThat(saved.getEmail()).isEqualTo("keep@email.com");
-        assertThat(saved.getAge()).isEqualTo(40);
-        assertThat(saved.getCountryCode()).isEqualTo("CA");
+        assertFalse(registrationService.updateRegistration(9L, new RegistrationRequest(), 2L).isPresent());
     }
 
     @Test
     void testDeleteRegistration_ShouldReturnTrue_WhenExists() {
-        Registration reg = Registration.builder().id(4L).firstName("DeleteItem").build();
-        when(registrationRepository.findById(4L)).thenReturn(Optional.of(reg));
+        Registration deleted = Registration.builder().id(4L).status("PROCESSED").countryCode("BR").age(30).build();
+        when(registrationRepository.deleteRegistrationById(4L)).thenReturn(Optional.of(deleted));
 
         boolean result = registrationService.deleteRegistration(4L);
 
         assertTrue(result);
-        verify(registrationRepository, times(1)).delete(reg);
+        verify(registrationStats).deleted(deleted);
+        verify(registrationArchive, never()).delete(any());
+        verify(registrationRepository, never()).findById(any());
+        verify(registrationRepository, never()).delete(any());
+    }
+
+    @Test
+    void testDeleteRegistration_ShouldDeleteArchivedEntry_WhenNotInTable() {
+        when(registrationRepository.deleteRegistrationById(12L)).thenReturn(Optional.empty());
+        when(registrationArchive.delete(12L)).thenReturn(true);
+
+        assertTrue(registrationService.deleteRegistration(12L));
+        verify(registrationStats).archiveDeleted();
+    }
+
+    @Test
+    void testUpdateRegistration_ShouldRejectArchivedEmail() {
+        RegistrationRequest request = new RegistrationRequest(null, null, "old@gmail.com", null, null);
+        when(registrationArchive.isArchivedEmail("old@gmail.com")).thenReturn(true);
+
+        assertThrows(EmailAlreadyExistsException.class, () -> registrationService.updateRegistration(1L, request, null));
+        verify(registrationRepository, never()).updateNonNullFields(any(), any(), any(), any());
     }
 
     @Test
     void testDeleteRegistration_ShouldReturnFalse_WhenNotExists() {
-        when(registrationRepository.findById(100L)).thenReturn(Optional.empty());
+        when(registrationRepository.deleteRegistrationById(100L)).thenReturn(Optional.empty());
 
         boolean result = registrationService.deleteRegistration(100L);
 
         assertFalse(result);
-        verify(registrationRepository, never()).delete(any());
+    }
+
+    private static RegistrationResponse response(Long id, String firstName) {
+        return new RegistrationResponse(id, firstName, null, null, null, null, null, null, 0L, "PROCESSING");
     }
 }
@@ -0,0 +1,75 @@
+package com.itau.registration.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("Should raise the limit while it is used and latency holds")
+    void testGrowsUnderSteadyLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 1.0);
+
+        run(limit, FAST, 50);
+
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when requests start queueing")
+    void testShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 20, 1.5, 1.0);
+        run(limit, FAST, 100);
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        run(limit, SLOW, 20);
+
+        assertThat(limit.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit while most of it is unused")
+    void testHoldsWhenIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 1.0);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(false);
+            limit.release(FAST);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should keep part of the limit for high-priority callers")
+    void testLowPriorityShare() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(true)).isTrue();
+        }
+        assertThat(limit.tryAcquire(true)).isFalse();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(false)).isTrue();
+        }
+        assertThat(limit.tryAcquire(false)).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(10);
+    }
+
+    // Keeps the limit saturated and completes one request per step with the given latency
+    private static void run(AdaptiveConcurrencyLimit limit, long rttNanos, int steps) {
+        for (int i = 0; i < steps; i++) {
+            while (limit.tryAcquire(false)) {
+                // fill every free slot
+            }
+            limit.release(rttNanos);
+        }
+    }
+}
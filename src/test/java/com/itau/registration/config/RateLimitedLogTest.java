@@ -0,0 +1,36 @@
+package com.itau.registration.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitedLogTest {
+
+    @Test
+    @DisplayName("Should let the permitted events through and suppress the rest of the interval")
+    void testSuppressesBeyondPermits() {
+        RateLimitedLog log = new RateLimitedLog(2, Duration.ofHours(1));
+
+        assertThat(log.tryAcquire()).isZero();
+        assertThat(log.tryAcquire()).isZero();
+        assertThat(log.tryAcquire()).isEqualTo(-1);
+        assertThat(log.tryAcquire()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should report the suppressed count with the first event of the next interval")
+    void testReportsSuppressedCount() throws InterruptedException {
+        RateLimitedLog log = new RateLimitedLog(1, Duration.ofMillis(20));
+
+        log.tryAcquire();
+        log.tryAcquire();
+        log.tryAcquire();
+        Thread.sleep(30);
+
+        assertThat(log.tryAcquire()).isEqualTo(2);
+        assertThat(log.tryAcquire()).isEqualTo(-1);
+    }
+}
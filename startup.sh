@@ -5,4 +5,7 @@ mkdir -p /app/certs
 
 echo "$KAFKA_TRUSTSTORE_B64" | base64 -d > /app/certs/kafka.client.truststore.jks
 
-exec java -jar /app/app.jar
+# SPRING_AOT_ENABLED=false evaluates bean conditions at startup again, e.g. after changing a property
+# that selects beans (notification.email.sender, registration.archive.enabled) without rebuilding the image
+exec java -XX:SharedArchiveFile=/app/application/application.jsa -Dspring.aot.enabled="${SPRING_AOT_ENABLED:-true}" \
+  $JAVA_OPTS -jar /app/application/app.jar